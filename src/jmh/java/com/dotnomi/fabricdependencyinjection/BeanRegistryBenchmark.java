@@ -0,0 +1,66 @@
+package com.dotnomi.fabricdependencyinjection;
+
+import com.dotnomi.fabricdependencyinjection.benchmark.fixtures.Codec;
+import com.dotnomi.fabricdependencyinjection.benchmark.fixtures.ConcreteService;
+import com.dotnomi.fabricdependencyinjection.benchmark.fixtures.DefaultGreetingService;
+import com.dotnomi.fabricdependencyinjection.benchmark.fixtures.GreetingService;
+import com.dotnomi.fabricdependencyinjection.benchmark.fixtures.JsonCodec;
+import com.dotnomi.fabricdependencyinjection.benchmark.fixtures.NbtCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link BeanRegistry} directly, without the frozen lookup table of a running container.
+ * This is the path taken by every lookup during initialization.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeanRegistryBenchmark {
+  private BeanRegistry beanRegistry;
+
+  @Setup(Level.Trial)
+  public void registerBeans() {
+    beanRegistry = new BeanRegistry();
+    var concreteService = new ConcreteService();
+    beanRegistry.registerInstance(ConcreteService.class, concreteService, null);
+    beanRegistry.registerInstance(DefaultGreetingService.class, new DefaultGreetingService(concreteService), null);
+    beanRegistry.registerInstance(JsonCodec.class, new JsonCodec(), "json");
+    beanRegistry.registerInstance(NbtCodec.class, new NbtCodec(), "nbt");
+  }
+
+  @Benchmark
+  public Object concreteLookup() {
+    return beanRegistry.findInstance(ConcreteService.class, null);
+  }
+
+  @Benchmark
+  public Object interfaceLookup() {
+    return beanRegistry.findInstance(GreetingService.class, null);
+  }
+
+  @Benchmark
+  public Object qualifiedLookup() {
+    return beanRegistry.findInstance(Codec.class, "json");
+  }
+
+  @Benchmark
+  public List<Object> allInstancesLookup() {
+    return beanRegistry.findInstances(Codec.class);
+  }
+}
@@ -0,0 +1,11 @@
+package com.dotnomi.fabricdependencyinjection;
+
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Runs the benchmarks of {@link LookupBenchmark} with one thread per available core, all looking up beans
+ * from the same container.
+ */
+@Threads(Threads.MAX)
+public class ContendedLookupBenchmark extends LookupBenchmark {
+}
@@ -0,0 +1,86 @@
+package com.dotnomi.fabricdependencyinjection;
+
+import com.dotnomi.fabricdependencyinjection.benchmark.fixtures.ConcreteService;
+import com.dotnomi.fabricdependencyinjection.benchmark.fixtures.DefaultGreetingService;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Constructor;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the ways a bean can be instantiated: a plain constructor call as the baseline, a reflective
+ * {@link Constructor#newInstance} call, the cached method handle of {@link BeanMetadata} used for classes without a
+ * factory, and the {@link BeanFactory} generated by the annotation processor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstantiationBenchmark {
+  private final ConcreteService concreteService = new ConcreteService();
+  private Constructor<DefaultGreetingService> constructor;
+  private BeanMetadata.ConstructorInjection constructorInjection;
+  private BeanFactory<DefaultGreetingService> beanFactory;
+  private BeanResolver resolver;
+
+  @Setup(Level.Trial)
+  @SuppressWarnings("unchecked")
+  public void prepare() throws Exception {
+    constructor = DefaultGreetingService.class.getConstructor(ConcreteService.class);
+    constructorInjection = BeanMetadata.of(DefaultGreetingService.class).getConstructorInjection();
+    beanFactory = (BeanFactory<DefaultGreetingService>) Class.forName(DefaultGreetingService.class.getName() + "_BeanFactory")
+      .getConstructor()
+      .newInstance();
+    resolver = new BeanResolver() {
+      @Override
+      public <T> @NotNull T getInstanceOf(@NotNull Class<T> targetClass, @Nullable String identifier) {
+        return targetClass.cast(concreteService);
+      }
+
+      @Override
+      public <T> @NotNull BeanList<T> getInstancesOf(@NotNull Class<T> targetClass) {
+        return new BeanList<>(List.of());
+      }
+
+      @Override
+      public <T> @NotNull BeanProvider<T> getProviderOf(@NotNull Class<T> targetClass, @Nullable String identifier) {
+        return new BeanProvider<>(() -> getInstanceOf(targetClass, identifier));
+      }
+    };
+  }
+
+  @Benchmark
+  public DefaultGreetingService direct() {
+    return new DefaultGreetingService(concreteService);
+  }
+
+  @Benchmark
+  public DefaultGreetingService reflective() throws Exception {
+    return constructor.newInstance(concreteService);
+  }
+
+  @Benchmark
+  public Object methodHandle() throws Exception {
+    return constructorInjection.newInstance(new Object[] {concreteService});
+  }
+
+  @Benchmark
+  public DefaultGreetingService generatedFactory() throws Exception {
+    return beanFactory.newInstance(resolver);
+  }
+}
@@ -0,0 +1,66 @@
+package com.dotnomi.fabricdependencyinjection;
+
+import com.dotnomi.fabricdependencyinjection.benchmark.fixtures.BenchmarkModMain;
+import com.dotnomi.fabricdependencyinjection.benchmark.fixtures.Codec;
+import com.dotnomi.fabricdependencyinjection.benchmark.fixtures.ConcreteService;
+import com.dotnomi.fabricdependencyinjection.benchmark.fixtures.GreetingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the public lookup API of a running container on a single thread.
+ * {@link ContendedLookupBenchmark} runs the same benchmarks on all available cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LookupBenchmark {
+  private static final String MOD_ID = "lookup-benchmark";
+
+  private BeanHandle<Codec> codecHandle;
+
+  @Setup(Level.Trial)
+  public void initialize() {
+    ModInjector.initialize(MOD_ID, new BenchmarkModMain());
+    codecHandle = ModInjector.handle(MOD_ID, Codec.class, "json");
+  }
+
+  @Benchmark
+  public ConcreteService concreteLookup() {
+    return ModInjector.getInstanceOf(MOD_ID, ConcreteService.class);
+  }
+
+  @Benchmark
+  public GreetingService interfaceLookup() {
+    return ModInjector.getInstanceOf(MOD_ID, GreetingService.class);
+  }
+
+  @Benchmark
+  public Codec qualifiedLookup() {
+    return ModInjector.getInstanceOf(MOD_ID, Codec.class, "json");
+  }
+
+  @Benchmark
+  public Codec handleLookup() {
+    return codecHandle.get();
+  }
+
+  @Benchmark
+  public BeanList<Codec> beanListLookup() {
+    return ModInjector.getInstancesOf(MOD_ID, Codec.class);
+  }
+}
@@ -0,0 +1,45 @@
+package com.dotnomi.fabricdependencyinjection.benchmark;
+
+import com.dotnomi.fabricdependencyinjection.ModInjector;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryType;
+
+/**
+ * Initializes a single synthetic mod in a fresh JVM, started by {@link StartupScalingHarness}, and prints
+ * one result line with the initialization time, the peak heap usage and the number of loaded classes.
+ */
+public final class StartupProbe {
+  /**
+   * The prefix of the result line.
+   */
+  static final String RESULT_PREFIX = "STARTUP-PROBE ";
+
+  private StartupProbe() {
+  }
+
+  /**
+   * Runs the probe.
+   *
+   * @param args The binary name of the {@code @ModMain} class to initialize.
+   * @throws Exception If the mod cannot be initialized.
+   */
+  public static void main(String[] args) throws Exception {
+    var classLoading = ManagementFactory.getClassLoadingMXBean();
+    var classesBefore = classLoading.getTotalLoadedClassCount();
+
+    var start = System.nanoTime();
+    var mainInstance = Class.forName(args[0]).getConstructor().newInstance();
+    ModInjector.initialize("synthetic", mainInstance);
+    var initializationNanos = System.nanoTime() - start;
+
+    var peakHeapBytes = 0L;
+    for (var memoryPool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (memoryPool.getType() == MemoryType.HEAP) {
+        peakHeapBytes += memoryPool.getPeakUsage().getUsed();
+      }
+    }
+    var classesLoaded = classLoading.getTotalLoadedClassCount() - classesBefore;
+    System.out.println(RESULT_PREFIX + initializationNanos + " " + peakHeapBytes + " " + classesLoaded);
+  }
+}
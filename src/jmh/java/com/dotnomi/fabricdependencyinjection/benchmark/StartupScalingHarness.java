@@ -0,0 +1,147 @@
+package com.dotnomi.fabricdependencyinjection.benchmark;
+
+import com.dotnomi.fabricdependencyinjection.benchmark.SyntheticGraphGenerator.Shape;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Measures how the initialization of a container scales with the size and shape of its dependency graph.
+ * <p>
+ * For every shape and size, a synthetic mod is generated and compiled with {@link SyntheticGraphGenerator}, then
+ * initialized several times by a {@link StartupProbe} in a fresh JVM, so every run is a cold start. The harness prints
+ * the median initialization time, the peak heap usage and the number of loaded classes of every graph, together
+ * with the scaling exponent between consecutive sizes: 1 is linear, anything clearly above 1 is superlinear.
+ * The results are also written as CSV, so the scaling curves can be plotted.
+ * <p>
+ * Options:
+ * <ul>
+ *   <li>{@code --shapes independent,chain,fan-out,implementations}</li>
+ *   <li>{@code --sizes 100,1000,10000}</li>
+ *   <li>{@code --runs 3}: the number of forked JVMs per graph</li>
+ *   <li>{@code --index}: compile the graphs with the annotation processor, so the compile-time index and the
+ *   generated factories are used instead of the classpath scan and reflection</li>
+ *   <li>{@code --output build/startup-scaling}: the directory for the generated graphs and the CSV report</li>
+ * </ul>
+ */
+public final class StartupScalingHarness {
+  /**
+   * Exponents above this threshold are reported as superlinear. Leaves some room for measurement noise.
+   */
+  private static final double SUPERLINEAR_THRESHOLD = 1.15;
+
+  private StartupScalingHarness() {
+  }
+
+  /**
+   * Runs the harness.
+   *
+   * @param args The options described in the class documentation.
+   * @throws Exception If a graph cannot be generated or a probe fails.
+   */
+  public static void main(String[] args) throws Exception {
+    var shapes = List.of(Shape.values());
+    var sizes = List.of(100, 1_000, 10_000);
+    var runs = 3;
+    var index = false;
+    var output = Path.of("build", "startup-scaling");
+
+    for (var i = 0; i < args.length; i++) {
+      switch (args[i]) {
+        case "--shapes" -> shapes = Arrays.stream(args[++i].split(",")).map(Shape::parse).toList();
+        case "--sizes" -> sizes = Arrays.stream(args[++i].split(",")).map(String::trim).map(Integer::parseInt).toList();
+        case "--runs" -> runs = Integer.parseInt(args[++i]);
+        case "--index" -> index = true;
+        case "--output" -> output = Path.of(args[++i]);
+        default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+      }
+    }
+
+    var csv = new StringBuilder("shape,size,initialization_ms,peak_heap_mb,classes_loaded,scaling_exponent\n");
+    System.out.printf("%-16s %8s %14s %14s %14s %10s%n", "shape", "beans", "init (ms)", "peak heap (MB)", "classes", "exponent");
+    for (var shape : shapes) {
+      Result previous = null;
+      for (var size : sizes) {
+        var packageName = "synthetic." + shape.name().toLowerCase(Locale.ROOT) + size;
+        var classDirectory = SyntheticGraphGenerator.compile(shape, size, packageName, output.resolve(packageName), index ? System.getProperty("java.class.path") : null);
+        var result = measure(packageName + "." + SyntheticGraphGenerator.MAIN_CLASS_NAME, classDirectory, size, runs);
+
+        var exponent = previous != null ? Math.log(result.initializationMillis() / previous.initializationMillis()) / Math.log((double) size / previous.size()) : Double.NaN;
+        var marker = exponent > SUPERLINEAR_THRESHOLD ? "  superlinear" : "";
+        System.out.printf(Locale.ROOT, "%-16s %8d %14.1f %14.1f %14d %10s%s%n", shape, size, result.initializationMillis(), result.peakHeapMegabytes(), result.classesLoaded(), Double.isNaN(exponent) ? "-" : String.format(Locale.ROOT, "%.2f", exponent), marker);
+        csv.append(String.format(Locale.ROOT, "%s,%d,%.3f,%.3f,%d,%s%n", shape, size, result.initializationMillis(), result.peakHeapMegabytes(), result.classesLoaded(), Double.isNaN(exponent) ? "" : String.format(Locale.ROOT, "%.4f", exponent)));
+        previous = result;
+      }
+    }
+
+    var report = output.resolve("results.csv");
+    Files.writeString(report, csv, StandardCharsets.UTF_8);
+    System.out.println("Results written to " + report.toAbsolutePath());
+  }
+
+  /**
+   * Initializes a synthetic mod in several fresh JVMs and takes the median of every metric.
+   */
+  private static @NotNull Result measure(@NotNull String mainClassName, @NotNull Path classDirectory, int size, int runs) throws IOException, InterruptedException {
+    var initializationMillis = new ArrayList<Double>();
+    var peakHeapMegabytes = new ArrayList<Double>();
+    var classesLoaded = new ArrayList<Double>();
+
+    for (var run = 0; run < runs; run++) {
+      var values = runProbe(mainClassName, classDirectory);
+      initializationMillis.add(Long.parseLong(values[0]) / 1_000_000.0);
+      peakHeapMegabytes.add(Long.parseLong(values[1]) / (1024.0 * 1024.0));
+      classesLoaded.add(Double.parseDouble(values[2]));
+    }
+    return new Result(size, median(initializationMillis), median(peakHeapMegabytes), Math.round(median(classesLoaded)));
+  }
+
+  private static @NotNull String[] runProbe(@NotNull String mainClassName, @NotNull Path classDirectory) throws IOException, InterruptedException {
+    var javaExecutable = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    var classPath = classDirectory.toAbsolutePath() + File.pathSeparator + System.getProperty("java.class.path");
+    var process = new ProcessBuilder(javaExecutable, "-cp", classPath, StartupProbe.class.getName(), mainClassName)
+      .redirectErrorStream(true)
+      .start();
+
+    String resultLine = null;
+    var output = new StringBuilder();
+    try (var reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.startsWith(StartupProbe.RESULT_PREFIX)) {
+          resultLine = line.substring(StartupProbe.RESULT_PREFIX.length());
+        } else {
+          output.append(line).append('\n');
+        }
+      }
+    }
+
+    var exitCode = process.waitFor();
+    if (exitCode != 0 || resultLine == null) {
+      throw new IOException(String.format("The startup probe for '%s' failed with exit code %d:%n%s", mainClassName, exitCode, output));
+    }
+    return resultLine.split(" ");
+  }
+
+  private static double median(@NotNull List<Double> values) {
+    var sorted = values.stream().sorted().toList();
+    var middle = sorted.size() / 2;
+    return sorted.size() % 2 == 1 ? sorted.get(middle) : (sorted.get(middle - 1) + sorted.get(middle)) / 2;
+  }
+
+  /**
+   * The median measurements of a single graph.
+   */
+  private record Result(int size, double initializationMillis, double peakHeapMegabytes, long classesLoaded) {
+  }
+}
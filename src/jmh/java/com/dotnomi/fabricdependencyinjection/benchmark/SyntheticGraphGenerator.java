@@ -0,0 +1,211 @@
+package com.dotnomi.fabricdependencyinjection.benchmark;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.StringJoiner;
+
+/**
+ * Generates and compiles synthetic mods with a {@code @ModMain} class and a configurable number of
+ * {@code @ModScoped} beans, wired according to a {@link Shape}. The graphs are deterministic for a given shape and size.
+ */
+public final class SyntheticGraphGenerator {
+  /**
+   * The name of the generated {@code @ModMain} class, in the package of the mod.
+   */
+  public static final String MAIN_CLASS_NAME = "GraphModMain";
+
+  private static final int FAN_OUT = 4;
+  private static final int IMPLEMENTATIONS_PER_INTERFACE = 50;
+
+  private SyntheticGraphGenerator() {
+  }
+
+  /**
+   * The shape of a generated dependency graph.
+   */
+  public enum Shape {
+    /**
+     * Beans without any dependencies.
+     */
+    INDEPENDENT,
+
+    /**
+     * A single chain in which every bean depends on the previous one, so the graph is as deep as it is large.
+     */
+    CHAIN,
+
+    /**
+     * Every bean depends on up to four randomly chosen earlier beans through its constructor.
+     */
+    FAN_OUT,
+
+    /**
+     * Beans implementing a shared interface per group of fifty. Every bean injects its predecessor by
+     * {@code @ModIdentifier} through the interface, and the first bean of each group injects all
+     * implementations of the previous group as a {@code BeanList}.
+     */
+    IMPLEMENTATIONS;
+
+    /**
+     * Parses a shape from its name, ignoring case and dashes.
+     *
+     * @param name The name of the shape, e.g. {@code fan-out}.
+     * @return The shape.
+     */
+    public static @NotNull Shape parse(@NotNull String name) {
+      return valueOf(name.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+    }
+  }
+
+  /**
+   * Generates the sources of a synthetic mod.
+   *
+   * @param shape The shape of the dependency graph.
+   * @param size The number of beans.
+   * @param packageName The package of the mod.
+   * @return The sources, keyed by their simple class name.
+   */
+  public static @NotNull Map<String, String> generate(@NotNull Shape shape, int size, @NotNull String packageName) {
+    var sources = new LinkedHashMap<String, String>();
+    sources.put(MAIN_CLASS_NAME, "package " + packageName + ";\n\n"
+      + "@com.dotnomi.fabricdependencyinjection.annotation.ModMain\n"
+      + "public class " + MAIN_CLASS_NAME + " {\n}\n");
+
+    var random = new Random(size);
+    for (var i = 0; i < size; i++) {
+      var parameters = new ArrayList<String>();
+      var implementedInterface = "";
+      var identifier = "";
+
+      switch (shape) {
+        case INDEPENDENT -> {
+        }
+        case CHAIN -> {
+          if (i > 0) {
+            parameters.add("Bean" + (i - 1));
+          }
+        }
+        case FAN_OUT -> {
+          for (var j = 0; j < Math.min(i, FAN_OUT); j++) {
+            parameters.add("Bean" + random.nextInt(i));
+          }
+        }
+        case IMPLEMENTATIONS -> {
+          var group = i / IMPLEMENTATIONS_PER_INTERFACE;
+          implementedInterface = " implements Service" + group;
+          identifier = "@com.dotnomi.fabricdependencyinjection.annotation.ModIdentifier(\"bean" + i + "\")\n";
+          if (i % IMPLEMENTATIONS_PER_INTERFACE != 0) {
+            parameters.add("@com.dotnomi.fabricdependencyinjection.annotation.ModIdentifier(\"bean" + (i - 1) + "\") Service" + group);
+          } else if (group > 0) {
+            parameters.add("com.dotnomi.fabricdependencyinjection.BeanList<Service" + (group - 1) + ">");
+          }
+          if (i % IMPLEMENTATIONS_PER_INTERFACE == 0) {
+            sources.put("Service" + group, "package " + packageName + ";\n\npublic interface Service" + group + " {\n}\n");
+          }
+        }
+      }
+
+      sources.put("Bean" + i, generateBean(packageName, "Bean" + i, identifier, implementedInterface, parameters));
+    }
+    return sources;
+  }
+
+  /**
+   * Generates the sources of a synthetic mod and compiles them into the given directory, replacing its previous content.
+   *
+   * @param shape The shape of the dependency graph.
+   * @param size The number of beans.
+   * @param packageName The package of the mod.
+   * @param outputDirectory The directory to write the sources and classes to.
+   * @param processorPath The class path of the annotation processor to run, or null to compile without
+   *                      the compile-time index and generated factories.
+   * @return The directory containing the compiled classes.
+   * @throws IOException If the sources cannot be written or do not compile.
+   */
+  public static @NotNull Path compile(@NotNull Shape shape, int size, @NotNull String packageName, @NotNull Path outputDirectory, @Nullable String processorPath) throws IOException {
+    if (Files.exists(outputDirectory)) {
+      try (var paths = Files.walk(outputDirectory)) {
+        for (var path : paths.sorted(Comparator.reverseOrder()).toList()) {
+          Files.delete(path);
+        }
+      }
+    }
+
+    var sourceDirectory = outputDirectory.resolve("src");
+    var classDirectory = outputDirectory.resolve("classes");
+    var packageDirectory = sourceDirectory.resolve(packageName.replace('.', '/'));
+    Files.createDirectories(packageDirectory);
+    Files.createDirectories(classDirectory);
+
+    var sourceFiles = new ArrayList<String>();
+    for (var source : generate(shape, size, packageName).entrySet()) {
+      var sourceFile = packageDirectory.resolve(source.getKey() + ".java");
+      Files.writeString(sourceFile, source.getValue(), StandardCharsets.UTF_8);
+      sourceFiles.add(sourceFile.toString());
+    }
+
+    var arguments = new ArrayList<>(List.of(
+      "-classpath", System.getProperty("java.class.path"),
+      "-d", classDirectory.toString(),
+      "-encoding", "UTF-8",
+      "-nowarn"
+    ));
+    if (processorPath != null) {
+      arguments.addAll(List.of("-processorpath", processorPath));
+    } else {
+      arguments.add("-proc:none");
+    }
+    arguments.addAll(sourceFiles);
+
+    // javac runs in its own process, because the annotation processor keeps its state in static fields
+    var argumentFile = outputDirectory.resolve("javac.args");
+    Files.write(argumentFile, arguments.stream().map(SyntheticGraphGenerator::quote).toList(), StandardCharsets.UTF_8);
+    var javac = Path.of(System.getProperty("java.home"), "bin", "javac");
+    if (!Files.isExecutable(javac)) {
+      throw new IOException("No Java compiler available. Run the harness with a JDK instead of a JRE.");
+    }
+
+    try {
+      var process = new ProcessBuilder(javac.toString(), "@" + argumentFile).inheritIO().start();
+      if (process.waitFor() != 0) {
+        throw new IOException(String.format("Failed to compile the synthetic %s graph with %d beans.", shape, size));
+      }
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while compiling the synthetic graph.", exception);
+    }
+    return classDirectory;
+  }
+
+  private static @NotNull String quote(@NotNull String argument) {
+    return "\"" + argument.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+  }
+
+  private static @NotNull String generateBean(@NotNull String packageName, @NotNull String className, @NotNull String identifier, @NotNull String implementedInterface, @NotNull List<String> parameterTypes) {
+    var parameters = new StringJoiner(", ");
+    for (var i = 0; i < parameterTypes.size(); i++) {
+      parameters.add(parameterTypes.get(i) + " dependency" + i);
+    }
+
+    return "package " + packageName + ";\n\n"
+      + "@com.dotnomi.fabricdependencyinjection.annotation.ModScoped\n"
+      + identifier
+      + "public class " + className + implementedInterface + " {\n"
+      + "  @com.dotnomi.fabricdependencyinjection.annotation.ModInject\n"
+      + "  public " + className + "(" + parameters + ") {\n"
+      + "  }\n"
+      + "}\n";
+  }
+}
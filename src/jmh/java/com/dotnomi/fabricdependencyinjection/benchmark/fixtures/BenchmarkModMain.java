@@ -0,0 +1,7 @@
+package com.dotnomi.fabricdependencyinjection.benchmark.fixtures;
+
+import com.dotnomi.fabricdependencyinjection.annotation.ModMain;
+
+@ModMain
+public class BenchmarkModMain {
+}
@@ -0,0 +1,5 @@
+package com.dotnomi.fabricdependencyinjection.benchmark.fixtures;
+
+public interface Codec {
+  String name();
+}
@@ -0,0 +1,23 @@
+package com.dotnomi.fabricdependencyinjection.benchmark.fixtures;
+
+import com.dotnomi.fabricdependencyinjection.annotation.ModInject;
+import com.dotnomi.fabricdependencyinjection.annotation.ModScoped;
+
+@ModScoped
+public class DefaultGreetingService implements GreetingService {
+  private final ConcreteService concreteService;
+
+  @ModInject
+  public DefaultGreetingService(ConcreteService concreteService) {
+    this.concreteService = concreteService;
+  }
+
+  @Override
+  public String greet(String name) {
+    return "Hello, " + name;
+  }
+
+  public ConcreteService getConcreteService() {
+    return concreteService;
+  }
+}
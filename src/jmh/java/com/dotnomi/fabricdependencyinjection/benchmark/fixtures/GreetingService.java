@@ -0,0 +1,5 @@
+package com.dotnomi.fabricdependencyinjection.benchmark.fixtures;
+
+public interface GreetingService {
+  String greet(String name);
+}
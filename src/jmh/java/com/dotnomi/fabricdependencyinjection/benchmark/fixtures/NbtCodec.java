@@ -0,0 +1,13 @@
+package com.dotnomi.fabricdependencyinjection.benchmark.fixtures;
+
+import com.dotnomi.fabricdependencyinjection.annotation.ModIdentifier;
+import com.dotnomi.fabricdependencyinjection.annotation.ModScoped;
+
+@ModScoped
+@ModIdentifier("nbt")
+public class NbtCodec implements Codec {
+  @Override
+  public String name() {
+    return "nbt";
+  }
+}
@@ -0,0 +1,53 @@
+package com.dotnomi.fabricdependencyinjection;
+
+import com.dotnomi.fabricdependencyinjection.annotation.ModInject;
+import com.dotnomi.fabricdependencyinjection.annotation.ModScoped;
+import com.dotnomi.fabricdependencyinjection.annotation.PostConstruct;
+import com.dotnomi.fabricdependencyinjection.processor.ModScopedIndexProcessor;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Creates and initializes instances of a single {@link ModScoped} class without reflection.
+ * <p>
+ * Implementations are generated at compile time by the {@link ModScopedIndexProcessor} and are preferred by
+ * the container over reflective instantiation. A generated factory calls the {@link ModInject} constructor
+ * directly. Field injection and the {@link PostConstruct} invocation are only generated if every member involved
+ * is accessible from the factory's package; otherwise the corresponding method returns {@code false} and the
+ * container falls back to reflection for that step.
+ * <p>
+ * This interface is not intended to be implemented by hand.
+ *
+ * @param <T> The type of the managed class.
+ */
+public interface BeanFactory<T> {
+  /**
+   * Creates a new instance by calling the injectable constructor with dependencies from the resolver.
+   *
+   * @param resolver The resolver used to obtain the constructor arguments.
+   * @return The newly created instance.
+   * @throws Exception If the constructor throws.
+   */
+  @NotNull T newInstance(@NotNull BeanResolver resolver) throws Exception;
+
+  /**
+   * Injects all fields annotated with {@link ModInject} in the class hierarchy of the instance.
+   *
+   * @param instance The instance to inject the fields into.
+   * @param resolver The resolver used to obtain the field values.
+   * @return True if the fields have been injected, false if the container must inject them reflectively.
+   */
+  default boolean injectFields(@NotNull T instance, @NotNull BeanResolver resolver) {
+    return false;
+  }
+
+  /**
+   * Invokes the method annotated with {@link PostConstruct}, if the class declares one.
+   *
+   * @param instance The instance to invoke the method on.
+   * @return True if the method has been handled, false if the container must invoke it reflectively.
+   * @throws Exception If the method throws.
+   */
+  default boolean invokePostConstruct(@NotNull T instance) throws Exception {
+    return false;
+  }
+}
@@ -0,0 +1,62 @@
+package com.dotnomi.fabricdependencyinjection;
+
+import com.dotnomi.fabricdependencyinjection.annotation.Scope;
+import com.dotnomi.fabricdependencyinjection.exception.ContainerNotInitializedException;
+import com.dotnomi.fabricdependencyinjection.exception.ModInjectorException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Supplier;
+
+/**
+ * A pre-resolved reference to a bean, created with {@link ModInjector#handle(String, Class, String)}.
+ * <p>
+ * A handle of a singleton resolves the bean once, when it is created, and afterwards returns it from a final field.
+ * {@link #get()} therefore skips the lookup of the container by mod ID and the resolution of the type, which makes
+ * handles the fastest way to access beans from code that cannot use injection, such as mixins and callbacks. It still
+ * reads the volatile status of the container on every call to detect a closed container, so the JIT compiler does
+ * not fold the bean into a constant.
+ * <p>
+ * Handles of {@link Scope#PROTOTYPE} and {@link Scope#THREAD} beans keep the scope of the bean: every call creates a
+ * new instance or returns the instance of the calling thread, respectively, without looking up the type again.
+ * <p>
+ * A handle is bound to the container it was created from. Once that container has been closed, {@link #get()} fails,
+ * so a handle has to be created again after the mod has been initialized again. This class is immutable and
+ * thread-safe.
+ *
+ * @param <T> The type of the bean.
+ */
+public final class BeanHandle<T> implements Supplier<T> {
+  private final ModContainer container;
+  private final @Nullable T instance;
+  private final @Nullable Supplier<T> resolver;
+
+  /**
+   * Creates a new handle.
+   *
+   * @param container The container the bean belongs to.
+   * @param instance The resolved singleton, or null if the bean is resolved on every call.
+   * @param resolver Provides the instance of a non-singleton bean on every call, or null for singletons.
+   */
+  BeanHandle(@NotNull ModContainer container, @Nullable T instance, @Nullable Supplier<T> resolver) {
+    this.container = container;
+    this.instance = instance;
+    this.resolver = resolver;
+  }
+
+  /**
+   * Returns the bean.
+   *
+   * @return The resolved singleton, or the instance of the bean's scope for the current call.
+   * @throws ContainerNotInitializedException If the container of the handle has been closed.
+   * @throws ModInjectorException If a non-singleton bean cannot be created.
+   */
+  @Override
+  public @NotNull T get() {
+    if (container.getStatus() != ContainerStatus.RUNNING) {
+      container.checkUsable();
+    }
+    var current = instance;
+    return current != null ? current : resolver.get();
+  }
+}
@@ -2,22 +2,51 @@ package com.dotnomi.fabricdependencyinjection;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.Consumer;
 
 /**
  * A wrapper class for a list of beans, intended for injection.
- * This class is an immutable record that implements {@link Iterable} and provides
- * convenient delegate methods to access the underlying list.
+ * This class is immutable, implements {@link Iterable} and provides convenient methods to access the beans.
  * Using this wrapper distinguishes a request for a list of beans from a request for a single bean of type List.
+ * <p>
+ * The beans are stored in a flat array, so indexed access and {@link #forEach(Consumer)} neither box nor allocate,
+ * which makes a {@code BeanList} cheap to iterate in per-tick code. Large lists of independent handlers can be
+ * processed concurrently with {@link #parallelForEach(Consumer)}.
  *
- * @param beans The list of bean instances.
  * @param <T> The type of the beans in the list.
  */
-public record BeanList<T>(@NotNull List<T> beans) implements Iterable<T> {
+public final class BeanList<T> implements Iterable<T> {
+  private final Object[] elements;
+  private final List<T> view;
+
+  /**
+   * Creates a new list containing the given beans, in the order of the given list.
+   *
+   * @param beans The list of bean instances. Changes to the list after the creation are not reflected.
+   */
+  @SuppressWarnings("unchecked")
+  public BeanList(@NotNull List<T> beans) {
+    this.elements = beans.toArray();
+    this.view = Collections.unmodifiableList((List<T>) Arrays.asList(elements));
+  }
+
+  /**
+   * Returns the beans of this list.
+   *
+   * @return An unmodifiable {@link List} of the beans.
+   */
+  public @NotNull List<T> beans() {
+    return view;
+  }
+
   /**
    * Returns an iterator over the elements in this list.
    *
@@ -25,18 +54,50 @@ public record BeanList<T>(@NotNull List<T> beans) implements Iterable<T> {
    */
   @Override
   public @NotNull Iterator<T> iterator() {
-    return beans.iterator();
+    return view.iterator();
   }
 
   /**
    * Performs the given action for each element of the list until all elements
-   * have been processed or the action throws an exception.
+   * have been processed or the action throws an exception. Iterates by index, without creating an iterator.
    *
    * @param action The action to be performed for each element.
    */
   @Override
+  @SuppressWarnings("unchecked")
   public void forEach(@NotNull Consumer<? super T> action) {
-    this.beans.forEach(action);
+    for (var element : elements) {
+      action.accept((T) element);
+    }
+  }
+
+  /**
+   * Performs the given action for each element of the list concurrently, using the common {@link ForkJoinPool}.
+   * See {@link #parallelForEach(Consumer, ForkJoinPool)}.
+   *
+   * @param action The action to be performed for each element. Must be safe to run concurrently.
+   */
+  public void parallelForEach(@NotNull Consumer<? super T> action) {
+    parallelForEach(action, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Performs the given action for each element of the list concurrently and waits until all elements have been
+   * processed. The elements are split into chunks that are processed in parallel by the given pool, so there is no
+   * guaranteed order. Only worthwhile for large lists or expensive actions, because handing the chunks to the pool has
+   * its own cost.
+   * If the action throws an exception for any element, it is rethrown once all running chunks have finished.
+   *
+   * @param action The action to be performed for each element. Must be safe to run concurrently.
+   * @param pool The pool to run the action in.
+   */
+  public void parallelForEach(@NotNull Consumer<? super T> action, @NotNull ForkJoinPool pool) {
+    if (elements.length < 2) {
+      forEach(action);
+      return;
+    }
+    var chunkSize = Math.max(1, elements.length / (pool.getParallelism() * 4));
+    pool.invoke(new ForEachTask<>(elements, action, 0, elements.length, chunkSize));
   }
 
   /**
@@ -46,7 +107,7 @@ public record BeanList<T>(@NotNull List<T> beans) implements Iterable<T> {
    */
   @Override
   public @NotNull Spliterator<T> spliterator() {
-    return this.beans.spliterator();
+    return Spliterators.spliterator(elements, Spliterator.ORDERED | Spliterator.IMMUTABLE | Spliterator.NONNULL);
   }
 
   /**
@@ -54,8 +115,8 @@ public record BeanList<T>(@NotNull List<T> beans) implements Iterable<T> {
    *
    * @return The size of the list.
    */
-  public @NotNull Integer size() {
-    return this.beans.size();
+  public int size() {
+    return elements.length;
   }
 
   /**
@@ -63,8 +124,8 @@ public record BeanList<T>(@NotNull List<T> beans) implements Iterable<T> {
    *
    * @return True if the list is empty, false otherwise.
    */
-  public @NotNull Boolean isEmpty() {
-    return this.beans.isEmpty();
+  public boolean isEmpty() {
+    return elements.length == 0;
   }
 
   /**
@@ -72,35 +133,102 @@ public record BeanList<T>(@NotNull List<T> beans) implements Iterable<T> {
    *
    * @param index The index of the bean to return.
    * @return The bean at the specified index.
+   * @throws IndexOutOfBoundsException If the index is out of range.
    */
+  @SuppressWarnings("unchecked")
   public @NotNull T get(int index) {
-    return this.beans.get(index);
+    return (T) elements[index];
   }
 
   /**
    * Returns the first bean in this list.
    *
    * @return The first bean.
+   * @throws java.util.NoSuchElementException If the list is empty.
    */
   public @NotNull T getFirst() {
-    return this.beans.getFirst();
+    return view.getFirst();
   }
 
   /**
    * Returns the last bean in this list.
    *
    * @return The last bean.
+   * @throws java.util.NoSuchElementException If the list is empty.
    */
   public @NotNull T getLast() {
-    return this.beans.getLast();
+    return view.getLast();
   }
 
   /**
-   * Returns an unmodifiable view of the list of beans.
+   * Returns an unmodifiable view of the list of beans. Always returns the same instance.
    *
    * @return An unmodifiable {@link List}.
    */
   public @NotNull List<T> asList() {
-    return Collections.unmodifiableList(this.beans);
+    return view;
+  }
+
+  /**
+   * Checks if the given object is a {@code BeanList} containing the same beans in the same order.
+   *
+   * @param object The object to compare with.
+   * @return True if both lists contain equal beans, false otherwise.
+   */
+  @Override
+  public boolean equals(Object object) {
+    return object instanceof BeanList<?> other && Arrays.equals(elements, other.elements);
+  }
+
+  /**
+   * Returns the hash code of the beans, as defined by {@link List#hashCode()}.
+   *
+   * @return The hash code.
+   */
+  @Override
+  public int hashCode() {
+    return view.hashCode();
+  }
+
+  /**
+   * Returns a string representation of the beans.
+   *
+   * @return The string representation.
+   */
+  @Override
+  public String toString() {
+    return "BeanList[beans=" + view + "]";
+  }
+
+  /**
+   * Applies an action to a range of elements, splitting the range in halves until it is no larger than the chunk size.
+   */
+  private static final class ForEachTask<T> extends RecursiveAction {
+    private final Object[] elements;
+    private final Consumer<? super T> action;
+    private final int from;
+    private final int to;
+    private final int chunkSize;
+
+    ForEachTask(@NotNull Object[] elements, @NotNull Consumer<? super T> action, int from, int to, int chunkSize) {
+      this.elements = elements;
+      this.action = action;
+      this.from = from;
+      this.to = to;
+      this.chunkSize = chunkSize;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void compute() {
+      if (to - from <= chunkSize) {
+        for (var i = from; i < to; i++) {
+          action.accept((T) elements[i]);
+        }
+        return;
+      }
+      var middle = (from + to) >>> 1;
+      invokeAll(new ForEachTask<>(elements, action, from, middle, chunkSize), new ForEachTask<>(elements, action, middle, to, chunkSize));
+    }
   }
 }
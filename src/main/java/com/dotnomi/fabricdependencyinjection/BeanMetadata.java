@@ -0,0 +1,374 @@
+package com.dotnomi.fabricdependencyinjection;
+
+import com.dotnomi.fabricdependencyinjection.annotation.ModIdentifier;
+import com.dotnomi.fabricdependencyinjection.annotation.ModInject;
+import com.dotnomi.fabricdependencyinjection.annotation.PostConstruct;
+import com.dotnomi.fabricdependencyinjection.annotation.Subscribe;
+import com.dotnomi.fabricdependencyinjection.exception.InstanceCreationException;
+import com.dotnomi.fabricdependencyinjection.exception.InvalidSubscribeMethodException;
+import com.dotnomi.fabricdependencyinjection.exception.MultipleInjectableConstructorsException;
+import com.dotnomi.fabricdependencyinjection.exception.MultiplePostConstructMethodsException;
+import com.dotnomi.fabricdependencyinjection.exception.NoInjectableConstructorException;
+import com.dotnomi.fabricdependencyinjection.exception.PostConstructMethodHasParametersException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * The immutable injection metadata of a single class: its {@link ModIdentifier}, its injectable constructor and
+ * parameters, its {@link ModInject} fields with their qualifiers, its {@link PostConstruct} method and its
+ * {@link Subscribe} methods.
+ * <p>
+ * The metadata is computed once per class and cached in a {@link ClassValue}, so all reflective lookups and access
+ * checks happen only once per JVM. Afterwards, the constructor, the field setters and the {@link PostConstruct}
+ * method are invoked through cached {@link MethodHandle}s. Classes with a generated {@link BeanFactory} only use
+ * the parts their factory cannot handle.
+ * <p>
+ * The constructor part is resolved on first use, because externally created instances such as the
+ * {@code @ModMain} instance only need field injection and may not have an injectable constructor.
+ */
+final class BeanMetadata {
+  /**
+   * Caches the metadata of each class. Validation errors are not cached and are thrown again on the next access.
+   */
+  private static final ClassValue<BeanMetadata> metadata = new ClassValue<>() {
+    @Override
+    protected BeanMetadata computeValue(@NotNull Class<?> type) {
+      return create(type);
+    }
+  };
+
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+  private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class, Object[].class);
+  private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+  private static final MethodType POST_CONSTRUCT_TYPE = MethodType.methodType(void.class, Object.class);
+  private static final MethodType SUBSCRIBER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+  private final Class<?> targetClass;
+  private final @Nullable String identifier;
+  private final List<FieldInjection> fieldInjections;
+  private final @Nullable Method postConstructMethod;
+  private final @Nullable MethodHandle postConstructHandle;
+  private final List<Subscriber> subscribers;
+  private volatile ConstructorInjection constructorInjection;
+
+  private BeanMetadata(@NotNull Class<?> targetClass, @Nullable String identifier, @NotNull List<FieldInjection> fieldInjections, @Nullable Method postConstructMethod, @Nullable MethodHandle postConstructHandle, @NotNull List<Subscriber> subscribers) {
+    this.targetClass = targetClass;
+    this.identifier = identifier;
+    this.fieldInjections = fieldInjections;
+    this.postConstructMethod = postConstructMethod;
+    this.postConstructHandle = postConstructHandle;
+    this.subscribers = subscribers;
+  }
+
+  /**
+   * Gets the cached metadata of the given class, creating it on first use.
+   *
+   * @param targetClass The class to get the metadata for.
+   * @return The metadata of the class.
+   * @throws MultiplePostConstructMethodsException If more than one method is annotated with {@link PostConstruct}.
+   * @throws PostConstructMethodHasParametersException If the {@link PostConstruct} method has parameters.
+   * @throws InvalidSubscribeMethodException If a {@link Subscribe} method is static or does not have exactly one parameter.
+   * @throws InstanceCreationException If a member cannot be accessed.
+   */
+  static @NotNull BeanMetadata of(@NotNull Class<?> targetClass) {
+    return metadata.get(targetClass);
+  }
+
+  /**
+   * Creates the metadata for the given class, validating its {@link ModInject} fields, {@link PostConstruct} method
+   * and {@link Subscribe} methods.
+   */
+  private static @NotNull BeanMetadata create(@NotNull Class<?> targetClass) {
+    var fieldInjections = new ArrayList<FieldInjection>();
+    var postConstructMethods = new ArrayList<Method>();
+    var subscribers = new ArrayList<Subscriber>();
+    var subscriberSignatures = new HashSet<String>();
+
+    var currentClass = targetClass;
+    while (currentClass != null && currentClass != Object.class) {
+      for (var field : currentClass.getDeclaredFields()) {
+        if (field.isAnnotationPresent(ModInject.class)) {
+          fieldInjections.add(new FieldInjection(field, Dependency.of(field.getType(), field.getGenericType(), field), createSetter(field)));
+        }
+      }
+      for (var method : currentClass.getDeclaredMethods()) {
+        if (method.isAnnotationPresent(PostConstruct.class)) {
+          postConstructMethods.add(method);
+        }
+        if (method.isAnnotationPresent(Subscribe.class) && !method.isBridge()) {
+          // An overridden subscriber is invoked virtually, so it is only registered once for the whole hierarchy.
+          var signature = (Modifier.isPrivate(method.getModifiers()) ? currentClass.getName() + "#" : "") + method.getName() + Arrays.toString(method.getParameterTypes());
+          if (subscriberSignatures.add(signature)) {
+            subscribers.add(Subscriber.create(targetClass, method));
+          }
+        }
+      }
+      currentClass = currentClass.getSuperclass(); // Traverse up the class hierarchy.
+    }
+
+    if (postConstructMethods.size() > 1) {
+      throw new MultiplePostConstructMethodsException(String.format("Found multiple methods annotated with @PostConstruct in the class hierarchy of '%s'. Only one @PostConstruct method is allowed.", targetClass.getName()));
+    }
+
+    Method postConstructMethod = null;
+    MethodHandle postConstructHandle = null;
+    if (!postConstructMethods.isEmpty()) {
+      postConstructMethod = postConstructMethods.getFirst();
+      if (postConstructMethod.getParameterCount() != 0) {
+        throw new PostConstructMethodHasParametersException(String.format("The @PostConstruct method '%s' must not have any parameters. Please remove the parameters from the method signature.", postConstructMethod.getName()));
+      }
+      postConstructHandle = createPostConstructInvoker(postConstructMethod);
+    }
+
+    var identifier = targetClass.isAnnotationPresent(ModIdentifier.class) ? targetClass.getAnnotation(ModIdentifier.class).value() : null;
+    return new BeanMetadata(targetClass, identifier, List.copyOf(fieldInjections), postConstructMethod, postConstructHandle, List.copyOf(subscribers));
+  }
+
+  /**
+   * Gets the {@link ModIdentifier} value declared on the class.
+   *
+   * @return The identifier, or null if the class does not declare one.
+   */
+  @Nullable String getIdentifier() {
+    return identifier;
+  }
+
+  /**
+   * Gets the constructor part of the metadata, resolving it on first use.
+   *
+   * @return The constructor injection of the class.
+   * @throws MultipleInjectableConstructorsException If more than one constructor is annotated with {@link ModInject}.
+   * @throws NoInjectableConstructorException If no suitable constructor is found.
+   */
+  @NotNull ConstructorInjection getConstructorInjection() {
+    var current = constructorInjection;
+    if (current == null) {
+      current = ConstructorInjection.create(targetClass);
+      constructorInjection = current;
+    }
+    return current;
+  }
+
+  /**
+   * Gets the fields annotated with {@link ModInject}, starting with the class itself and walking up its superclasses.
+   *
+   * @return An immutable list of field injections.
+   */
+  @NotNull List<FieldInjection> getFieldInjections() {
+    return fieldInjections;
+  }
+
+  /**
+   * Invokes the {@link PostConstruct} method on the given instance, if the class declares one.
+   *
+   * @param instance The instance to invoke the method on.
+   * @throws InstanceCreationException If the method throws.
+   */
+  void invokePostConstruct(@NotNull Object instance) {
+    if (postConstructHandle == null) {
+      return;
+    }
+
+    try {
+      postConstructHandle.invokeExact(instance);
+    } catch (Throwable throwable) {
+      throw new InstanceCreationException(String.format("Failed to invoke the @PostConstruct method '%s'. Please check the code inside this method for errors.", postConstructMethod.getName()), throwable);
+    }
+  }
+
+  /**
+   * Gets the method annotated with {@link PostConstruct}.
+   *
+   * @return The method, or null if the class does not declare one.
+   */
+  @Nullable Method getPostConstructMethod() {
+    return postConstructMethod;
+  }
+
+  /**
+   * Gets the methods annotated with {@link Subscribe}, starting with the class itself and walking up its superclasses.
+   *
+   * @return An immutable list of subscribers.
+   */
+  @NotNull List<Subscriber> getSubscribers() {
+    return subscribers;
+  }
+
+  private static @NotNull MethodHandle createSetter(@NotNull Field field) {
+    try {
+      var lookup = MethodHandles.privateLookupIn(field.getDeclaringClass(), LOOKUP);
+      if (Modifier.isFinal(field.getModifiers())) {
+        // Method handles only permit writes to final fields if the field itself has been made accessible.
+        field.setAccessible(true);
+      }
+      return lookup.unreflectSetter(field).asType(SETTER_TYPE);
+    } catch (IllegalAccessException | RuntimeException exception) {
+      throw new InstanceCreationException(String.format("Failed to access the field '%s' of '%s'. Ensure that all fields annotated with @ModInject are accessible (e.g., not 'final').", field.getName(), field.getDeclaringClass().getName()), exception);
+    }
+  }
+
+  private static @NotNull MethodHandle createPostConstructInvoker(@NotNull Method method) {
+    try {
+      var lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(), LOOKUP);
+      return lookup.unreflect(method).asType(POST_CONSTRUCT_TYPE);
+    } catch (IllegalAccessException | RuntimeException exception) {
+      throw new InstanceCreationException(String.format("Failed to access the @PostConstruct method '%s' of '%s'.", method.getName(), method.getDeclaringClass().getName()), exception);
+    }
+  }
+
+  /**
+   * A dependency of a constructor parameter or field.
+   *
+   * @param type The requested type, or the element type for a {@link BeanList} or {@link BeanProvider}.
+   * @param identifier The {@link ModIdentifier} of the injection point, or null.
+   * @param beanList True if all beans of the type are requested as a {@link BeanList}.
+   * @param provider True if the bean is requested as a {@link BeanProvider}, which resolves it on first use.
+   */
+  record Dependency(@NotNull Class<?> type, @Nullable String identifier, boolean beanList, boolean provider) {
+    private static @NotNull Dependency of(@NotNull Class<?> rawType, @NotNull Type genericType, @NotNull AnnotatedElement element) {
+      // Handle injection of a list of beans.
+      if (BeanList.class.isAssignableFrom(rawType) && genericType instanceof ParameterizedType parameterizedType) {
+        return new Dependency(rawType(parameterizedType.getActualTypeArguments()[0]), null, true, false);
+      }
+
+      var identifier = element.isAnnotationPresent(ModIdentifier.class) ? element.getAnnotation(ModIdentifier.class).value() : null;
+
+      // Handle injection of a deferred bean.
+      if (rawType == BeanProvider.class && genericType instanceof ParameterizedType parameterizedType) {
+        return new Dependency(rawType(parameterizedType.getActualTypeArguments()[0]), identifier, false, true);
+      }
+
+      // Handle injection of a single bean.
+      return new Dependency(rawType, identifier, false, false);
+    }
+
+    private static @NotNull Class<?> rawType(@NotNull Type type) {
+      return type instanceof ParameterizedType parameterizedType ? (Class<?>) parameterizedType.getRawType() : (Class<?>) type;
+    }
+  }
+
+  /**
+   * A field annotated with {@link ModInject} and its cached setter of type {@code (Object, Object)void}.
+   */
+  record FieldInjection(@NotNull Field field, @NotNull Dependency dependency, @NotNull MethodHandle setter) {
+    /**
+     * Assigns the value to the field of the given instance.
+     *
+     * @param instance The instance to inject into.
+     * @param value The resolved dependency.
+     * @throws InvocationTargetException If the value cannot be assigned.
+     */
+    void inject(@NotNull Object instance, @NotNull Object value) throws InvocationTargetException {
+      try {
+        setter.invokeExact(instance, value);
+      } catch (Throwable throwable) {
+        throw new InvocationTargetException(throwable);
+      }
+    }
+  }
+
+  /**
+   * The injectable constructor of a class, its parameter dependencies and its cached handle of type {@code (Object[])Object}.
+   */
+  record ConstructorInjection(@NotNull Constructor<?> constructor, @NotNull List<Dependency> dependencies, @NotNull MethodHandle handle) {
+    /**
+     * Selects the constructor to instantiate the class with.
+     * It prioritizes a constructor annotated with {@link ModInject}. If none is found,
+     * it falls back to the public no-argument constructor.
+     */
+    private static @NotNull ConstructorInjection create(@NotNull Class<?> targetClass) {
+      var injectableConstructors = Arrays.stream(targetClass.getConstructors())
+        .filter(constructor -> constructor.isAnnotationPresent(ModInject.class))
+        .toList();
+
+      if (injectableConstructors.size() > 1) {
+        throw new MultipleInjectableConstructorsException(String.format("Class '%s' has multiple constructors annotated with @ModInject. Only one constructor can be marked for injection.", targetClass.getName()));
+      }
+
+      Constructor<?> constructor;
+      if (!injectableConstructors.isEmpty()) {
+        constructor = injectableConstructors.getFirst();
+      } else {
+        try {
+          constructor = targetClass.getConstructor();
+        } catch (NoSuchMethodException exception) {
+          throw new NoInjectableConstructorException(String.format("Could not find a suitable constructor for class '%s'. To make it injectable, provide a public no-argument constructor or annotate exactly one constructor with @ModInject.", targetClass.getName()), exception);
+        }
+      }
+
+      var dependencies = Arrays.stream(constructor.getParameters())
+        .map(parameter -> Dependency.of(parameter.getType(), parameter.getParameterizedType(), parameter))
+        .toList();
+
+      try {
+        var lookup = MethodHandles.privateLookupIn(targetClass, LOOKUP);
+        var handle = lookup.unreflectConstructor(constructor)
+          .asSpreader(Object[].class, constructor.getParameterCount())
+          .asType(CONSTRUCTOR_TYPE);
+        return new ConstructorInjection(constructor, dependencies, handle);
+      } catch (IllegalAccessException | RuntimeException exception) {
+        throw new InstanceCreationException(String.format("Failed to access the constructor of '%s'.", targetClass.getName()), exception);
+      }
+    }
+
+    /**
+     * Invokes the constructor with the resolved arguments.
+     *
+     * @param arguments The resolved constructor arguments.
+     * @return The new instance.
+     * @throws InvocationTargetException If the constructor throws.
+     */
+    @NotNull Object newInstance(@NotNull Object[] arguments) throws InvocationTargetException {
+      try {
+        return (Object) handle.invokeExact(arguments);
+      } catch (Throwable throwable) {
+        throw new InvocationTargetException(throwable);
+      }
+    }
+  }
+
+  /**
+   * A method annotated with {@link Subscribe}, the type of event it handles and its cached handle of type
+   * {@code (Object, Object)void}, taking the bean and the event.
+   */
+  record Subscriber(@NotNull Method method, @NotNull Class<?> eventType, @NotNull MethodHandle handle) {
+    /**
+     * Validates a subscriber method and creates its handle.
+     */
+    private static @NotNull Subscriber create(@NotNull Class<?> targetClass, @NotNull Method method) {
+      if (Modifier.isStatic(method.getModifiers())) {
+        throw new InvalidSubscribeMethodException(String.format("The @Subscribe method '%s' of '%s' must not be static. Events are only dispatched to bean instances.", method.getName(), targetClass.getName()));
+      }
+      if (method.getParameterCount() != 1) {
+        throw new InvalidSubscribeMethodException(String.format("The @Subscribe method '%s' of '%s' must have exactly one parameter, the type of event it handles. Found %d parameters.", method.getName(), targetClass.getName(), method.getParameterCount()));
+      }
+      var eventType = method.getParameterTypes()[0];
+      if (eventType.isPrimitive()) {
+        throw new InvalidSubscribeMethodException(String.format("The @Subscribe method '%s' of '%s' must take an object as its event, not the primitive type '%s'.", method.getName(), targetClass.getName(), eventType.getName()));
+      }
+
+      try {
+        var lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(), LOOKUP);
+        return new Subscriber(method, eventType, lookup.unreflect(method).asType(SUBSCRIBER_TYPE));
+      } catch (IllegalAccessException | RuntimeException exception) {
+        throw new InstanceCreationException(String.format("Failed to access the @Subscribe method '%s' of '%s'.", method.getName(), method.getDeclaringClass().getName()), exception);
+      }
+    }
+  }
+}
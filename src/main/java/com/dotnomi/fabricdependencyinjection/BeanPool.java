@@ -0,0 +1,68 @@
+package com.dotnomi.fabricdependencyinjection;
+
+import com.dotnomi.fabricdependencyinjection.annotation.Scope;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.function.Supplier;
+
+/**
+ * A bounded pool of {@link Scope#PROTOTYPE} beans, created with {@link ModInjector#createPool(String, Class, int)}.
+ * <p>
+ * {@link #acquire()} reuses a released instance if one is available and only creates a new, fully wired instance
+ * otherwise. {@link #release(Object)} returns an instance to the pool, or drops it if the pool is full, so the
+ * number of idle instances never exceeds the capacity. This reduces the allocation churn of prototype beans that are
+ * requested in hot loops.
+ * <p>
+ * Released instances are reused as they are. Their constructor, field injection and {@code @PostConstruct} method
+ * are not run again, so callers have to reset any per-use state themselves. This class is thread-safe.
+ *
+ * @param <T> The type of the pooled beans.
+ */
+public final class BeanPool<T> {
+  private final Supplier<T> factory;
+  private final ArrayBlockingQueue<T> idleInstances;
+
+  BeanPool(@NotNull Supplier<T> factory, int capacity) {
+    this.factory = factory;
+    this.idleInstances = new ArrayBlockingQueue<>(capacity);
+  }
+
+  /**
+   * Takes an idle instance from the pool or creates a new one if the pool is empty.
+   *
+   * @return An instance that is not used by any other caller until it is released.
+   */
+  public @NotNull T acquire() {
+    var instance = idleInstances.poll();
+    return instance != null ? instance : factory.get();
+  }
+
+  /**
+   * Returns an instance to the pool. The caller must not use the instance afterwards.
+   *
+   * @param instance An instance previously returned by {@link #acquire()}.
+   * @return True if the instance is kept for reuse, false if the pool is full and the instance has been dropped.
+   */
+  public boolean release(@NotNull T instance) {
+    return idleInstances.offer(instance);
+  }
+
+  /**
+   * Gets the number of instances that are currently waiting for reuse.
+   *
+   * @return The number of idle instances.
+   */
+  public int getIdleCount() {
+    return idleInstances.size();
+  }
+
+  /**
+   * Gets the maximum number of idle instances.
+   *
+   * @return The capacity of the pool.
+   */
+  public int getCapacity() {
+    return idleInstances.size() + idleInstances.remainingCapacity();
+  }
+}
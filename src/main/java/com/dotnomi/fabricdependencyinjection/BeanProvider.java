@@ -0,0 +1,74 @@
+package com.dotnomi.fabricdependencyinjection;
+
+import com.dotnomi.fabricdependencyinjection.annotation.ModIdentifier;
+import com.dotnomi.fabricdependencyinjection.annotation.ModInject;
+import com.dotnomi.fabricdependencyinjection.annotation.Scope;
+import com.dotnomi.fabricdependencyinjection.exception.ModInjectorException;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Supplier;
+
+/**
+ * A deferred reference to a bean, intended for injection.
+ * Declaring a constructor parameter or {@link ModInject} field as {@code BeanProvider<T>} instead of {@code T}
+ * postpones the resolution of the bean until {@link #get()} is called for the first time. Afterwards, the bean
+ * is cached, so further calls do not go through the container again.
+ * <p>
+ * This is useful for expensive dependencies that are only needed on rare code paths, and it allows two beans to
+ * depend on each other through their constructors as long as one side uses a provider. A {@link ModIdentifier}
+ * on the injection point is applied to the provided bean.
+ * <p>
+ * Providers of {@link Scope#PROTOTYPE} and {@link Scope#THREAD} beans do not cache the bean. Every call returns a
+ * new instance or the instance of the calling thread, respectively, which makes a provider the way for a singleton
+ * to use thread-scoped beans.
+ *
+ * @param <T> The type of the provided bean.
+ */
+public final class BeanProvider<T> implements Supplier<T> {
+  private final Supplier<T> resolver;
+  private final boolean cached;
+  private volatile T instance;
+
+  /**
+   * Creates a new provider that caches the bean.
+   *
+   * @param resolver Looks up the bean in the container. Invoked until it returns a bean for the first time.
+   */
+  BeanProvider(@NotNull Supplier<T> resolver) {
+    this(resolver, true);
+  }
+
+  /**
+   * Creates a new provider.
+   *
+   * @param resolver Looks up the bean in the container.
+   * @param cached True to invoke the resolver until it returns a bean for the first time, false to invoke it on
+   *               every call.
+   */
+  BeanProvider(@NotNull Supplier<T> resolver, boolean cached) {
+    this.resolver = resolver;
+    this.cached = cached;
+  }
+
+  /**
+   * Returns the provided bean, resolving it from the container on the first call, or on every call if the bean is not
+   * a singleton.
+   *
+   * @return The bean.
+   * @throws ModInjectorException If the bean cannot be resolved.
+   */
+  @Override
+  public @NotNull T get() {
+    if (!cached) {
+      return resolver.get();
+    }
+
+    var current = instance;
+    if (current == null) {
+      // Lookups of singletons are idempotent, so concurrent first calls resolve the same bean.
+      current = resolver.get();
+      instance = current;
+    }
+    return current;
+  }
+}
@@ -8,36 +8,60 @@ import org.jetbrains.annotations.Nullable;
 import java.lang.reflect.Modifier;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A private, thread-safe utility class to manage the registry of singleton instances.
  * It handles storing and retrieving instances by their class and an optional identifier.
- * The internal structure is a map of maps: {@code Map<Class<?>, Map<String, Object>>}.
+ * Instances are stored under a composite key of their class and identifier. Every instance is additionally indexed
+ * under all of its supertypes, and qualified instances under the composite key of each supertype and their
+ * identifier, so lookups by interface or abstract class, with or without identifier, do not need to scan the registry.
  */
 final class BeanRegistry {
   /**
-   * The primary data structure for storing instances.
-   * - The outer map's key is the concrete class of the instance.
-   * - The inner map's key is the identifier (an empty string for non-identified instances),
-   * and the value is the singleton instance itself.
+   * Marks a key of {@link #qualifiedInstances} that more than one instance has been registered under.
    */
-  private final Map<Class<?>, Map<String, Object>> instances = new ConcurrentHashMap<>();
+  private static final Object AMBIGUOUS = new Object();
+
+  /**
+   * The primary data structure for storing instances, keyed by their concrete class and their identifier,
+   * or null for non-identified instances.
+   */
+  private final Map<Key, Object> instances = new ConcurrentHashMap<>();
+
+  /**
+   * All registered instances, indexed by every class and interface they are assignable to.
+   */
+  private final TypeIndex<Object> instancesByType = new TypeIndex<>();
+
+  /**
+   * All instances registered with an identifier, keyed by every class and interface they are assignable to
+   * together with the identifier. Keys that several instances are registered under map to {@link #AMBIGUOUS}.
+   */
+  private final Map<Key, Object> qualifiedInstances = new ConcurrentHashMap<>();
 
   /**
    * Registers a newly created instance in the registry.
-   * The identifier is determined first by the provided parameter, then by the {@link ModIdentifier}
-   * annotation on the class, and finally defaults to an empty string.
+   * The identifier is usually the {@link ModIdentifier} value of the class. It is interned, so lookups with
+   * a constant identifier usually compare it by reference.
    *
    * @param targetClass The concrete class of the instance.
    * @param instance The instance object to register.
    * @param identifier The optional identifier. Can be null.
    */
   public void registerInstance(@NotNull Class<?> targetClass, @NotNull Object instance, @Nullable String identifier) {
-    var instanceIdentifier = Optional.ofNullable(identifier).orElse(getInstanceIdentifier(instance).orElse(""));
-    instances.computeIfAbsent(targetClass, key -> new ConcurrentHashMap<>())
-      .putIfAbsent(instanceIdentifier, instance);
+    var instanceIdentifier = identifier != null ? identifier.intern() : null;
+    var previousInstance = instances.putIfAbsent(new Key(targetClass, instanceIdentifier), instance);
+    if (previousInstance != null) {
+      return;
+    }
+
+    instancesByType.add(instance.getClass(), instance);
+    if (instanceIdentifier != null) {
+      for (var supertype : TypeIndex.supertypesOf(instance.getClass())) {
+        qualifiedInstances.merge(new Key(supertype, instanceIdentifier), instance, (existing, added) -> AMBIGUOUS);
+      }
+    }
   }
 
   /**
@@ -47,29 +71,22 @@ final class BeanRegistry {
    * @param identifier The optional identifier. If null, a unique instance of the type is sought.
    * @return The found instance, or null if no matching instance exists.
    * @throws TooManyInstancesFoundException if the identifier is null and multiple instances of the
-   *         assignable type are found.
+   *         assignable type are found, or if multiple instances of an abstract type share the identifier.
    */
   public @Nullable Object findInstance(@NotNull Class<?> targetClass, @Nullable String identifier) {
     // Case 1: An identifier is provided.
     if (identifier != null) {
       // If the target is a concrete class, we can look it up directly (fast path).
       if (!Modifier.isAbstract(targetClass.getModifiers())) {
-        var map = instances.get(targetClass);
-        return (map != null) ? map.get(identifier) : null;
+        return instances.get(new Key(targetClass, identifier));
       }
 
-      // If the target is an interface or an abstract class, we must scan all instances.
-      List<Object> matchingInstances = instances.values().stream()
-        .flatMap(map -> map.values().stream())
-        .filter(instance -> targetClass.isAssignableFrom(instance.getClass()))
-        .filter(instance -> getInstanceIdentifier(instance).map(id -> id.equals(identifier)).orElse(false))
-        .toList();
-
-      if (matchingInstances.size() > 1) {
+      // If the target is an interface or an abstract class, its implementations have been indexed under it.
+      var instance = qualifiedInstances.get(new Key(targetClass, identifier));
+      if (instance == AMBIGUOUS) {
         throw new TooManyInstancesFoundException("Found multiple instances of type " + targetClass.getName() + " with identifier '" + identifier + "'");
       }
-
-      return matchingInstances.isEmpty() ? null : matchingInstances.getFirst();
+      return instance;
     }
 
     // Case 2: No identifier is provided.
@@ -88,29 +105,15 @@ final class BeanRegistry {
    * @return A list of all matching instances. The list is immutable.
    */
   public @NotNull List<Object> findInstances(@NotNull Class<?> targetClass) {
-    // If the target is an interface or an abstract class, we must check all registered instances.
-    if (Modifier.isAbstract(targetClass.getModifiers())) {
-      return instances.values().stream()
-        .flatMap(map -> map.values().stream())
-        .filter(instance -> targetClass.isAssignableFrom(instance.getClass()))
-        .toList();
-    }
-
-    // If the target is a class, we can optimize by checking only assignable class keys.
-    return instances.entrySet().stream()
-      .filter(entry -> targetClass.isAssignableFrom(entry.getKey()))
-      .flatMap(entry -> entry.getValue().values().stream())
-      .toList();
+    return instancesByType.get(targetClass);
   }
 
   /**
-   * Helper method to get the identifier from a class annotation.
+   * The composite key of an instance.
+   *
+   * @param type The class the instance is registered under.
+   * @param identifier The identifier of the instance, or null.
    */
-  private @NotNull Optional<String> getInstanceIdentifier(@NotNull Object instance) {
-    Class<?> instanceClass = instance.getClass();
-    if (instanceClass.isAnnotationPresent(ModIdentifier.class)) {
-      return Optional.of(instanceClass.getAnnotation(ModIdentifier.class).value());
-    }
-    return Optional.empty();
+  private record Key(@NotNull Class<?> type, @Nullable String identifier) {
   }
 }
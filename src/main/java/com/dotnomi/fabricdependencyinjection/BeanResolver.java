@@ -0,0 +1,43 @@
+package com.dotnomi.fabricdependencyinjection;
+
+import com.dotnomi.fabricdependencyinjection.exception.ModInjectorException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Resolves dependencies from the container of a mod.
+ * An instance is passed to every {@link BeanFactory} so that generated code can request its dependencies
+ * without going through the static {@link ModInjector} API.
+ */
+public interface BeanResolver {
+  /**
+   * Retrieves a managed instance of the specified class, creating it if necessary.
+   *
+   * @param targetClass The class type of the instance to retrieve.
+   * @param identifier The optional identifier to distinguish between multiple instances of the same type.
+   * @param <T> The type of the class.
+   * @return The singleton instance of the requested class.
+   * @throws ModInjectorException If the dependency cannot be resolved.
+   */
+  <T> @NotNull T getInstanceOf(@NotNull Class<T> targetClass, @Nullable String identifier);
+
+  /**
+   * Retrieves all managed instances that are assignable to the specified class or interface.
+   *
+   * @param targetClass The class or interface type to match against.
+   * @param <T> The type of the class.
+   * @return A {@link BeanList} containing all matching managed instances.
+   * @throws ModInjectorException If the dependencies cannot be resolved.
+   */
+  <T> @NotNull BeanList<T> getInstancesOf(@NotNull Class<T> targetClass);
+
+  /**
+   * Creates a {@link BeanProvider} that retrieves the specified managed instance on its first use.
+   *
+   * @param targetClass The class type of the instance to provide.
+   * @param identifier The optional identifier to distinguish between multiple instances of the same type.
+   * @param <T> The type of the class.
+   * @return A provider of the requested instance.
+   */
+  <T> @NotNull BeanProvider<T> getProviderOf(@NotNull Class<T> targetClass, @Nullable String identifier);
+}
@@ -0,0 +1,150 @@
+package com.dotnomi.fabricdependencyinjection;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.reflections.Reflections;
+import org.reflections.Store;
+import org.reflections.scanners.Scanners;
+import org.reflections.util.ClasspathHelper;
+import org.reflections.util.ConfigurationBuilder;
+
+import java.lang.annotation.Annotation;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A process-wide cache of classpath scans, shared by all containers of the JVM.
+ * <p>
+ * Each classpath root (a jar or a class directory) only parses the class files below the queried package, like a
+ * {@link Reflections} instance created for the package, and keeps the resulting annotation and subtype tables in
+ * memory. A later query for the same package or one of its subpackages reuses these tables, so repeated
+ * initializations and mods sharing a package prefix do not parse the same class files again. The tables of jars
+ * are additionally persisted by {@link PersistentScanCache}.
+ */
+final class ClasspathScanCache {
+  /**
+   * The scanned tables of each classpath root, keyed by the external form of its URL.
+   */
+  private static final Map<String, ScannedRoot> scannedRoots = new ConcurrentHashMap<>();
+
+  private ClasspathScanCache() {
+  }
+
+  /**
+   * Finds all classes below the given base package that are annotated with the given annotation, including their
+   * subtypes, like {@link Reflections#getTypesAnnotatedWith(Class)} of a {@link Reflections} instance created for
+   * the package.
+   *
+   * @param basePackage The package to search in. An empty string searches the whole classpath.
+   * @param annotation The annotation to search for.
+   * @return The annotated classes and their subtypes.
+   */
+  static @NotNull Set<Class<?>> getTypesAnnotatedWith(@NotNull String basePackage, @NotNull Class<? extends Annotation> annotation) {
+    var packagePrefix = basePackage.isEmpty() ? "" : basePackage + ".";
+    var store = new Store();
+    for (var url : ClasspathHelper.forPackage(basePackage)) {
+      var scannedRoot = scannedRoots.computeIfAbsent(url.toExternalForm(), key -> new ScannedRoot(url));
+      scannedRoot.getStore(packagePrefix).forEach((index, entries) -> {
+        var filteredEntries = store.computeIfAbsent(index, key -> new HashMap<>());
+        entries.forEach((key, classNames) -> {
+          for (var className : classNames) {
+            if (className.startsWith(packagePrefix)) {
+              filteredEntries.computeIfAbsent(key, ignored -> new HashSet<>()).add(className);
+            }
+          }
+        });
+      });
+    }
+    return new Reflections(store).getTypesAnnotatedWith(annotation);
+  }
+
+  /**
+   * A classpath root whose tables are scanned on first access to a package.
+   * Concurrent first accesses wait for a single scan instead of scanning the root twice.
+   */
+  private static final class ScannedRoot {
+    private final URL url;
+    /**
+     * The scanned tables of this root, keyed by the package prefix they were scanned for.
+     */
+    private final Map<String, Store> stores = new ConcurrentHashMap<>();
+
+    ScannedRoot(@NotNull URL url) {
+      this.url = url;
+    }
+
+    /**
+     * Gets tables that contain at least all classes of this root below the given package prefix.
+     *
+     * @param packagePrefix The package prefix, ending with a dot, or an empty string for all classes.
+     * @return The tables scanned for the package prefix or for one of its enclosing packages.
+     */
+    @NotNull Store getStore(@NotNull String packagePrefix) {
+      var result = findStore(packagePrefix);
+      if (result == null) {
+        synchronized (this) {
+          result = findStore(packagePrefix);
+          if (result == null) {
+            result = scan(packagePrefix);
+            stores.put(packagePrefix, result);
+          }
+        }
+      }
+      return result;
+    }
+
+    private @Nullable Store findStore(@NotNull String packagePrefix) {
+      for (var entry : stores.entrySet()) {
+        if (packagePrefix.startsWith(entry.getKey())) {
+          return entry.getValue();
+        }
+      }
+      return null;
+    }
+
+    private @NotNull Store scan(@NotNull String packagePrefix) {
+      var jar = getJarPath();
+      var result = jar != null ? PersistentScanCache.load(jar, packagePrefix) : null;
+      if (result == null) {
+        var configuration = new ConfigurationBuilder()
+          .setUrls(url)
+          .setScanners(Scanners.SubTypes, Scanners.TypesAnnotated);
+        if (!packagePrefix.isEmpty()) {
+          configuration.filterInputsBy(path -> path.replace('/', '.').startsWith(packagePrefix));
+        }
+        result = new Reflections(configuration).getStore();
+        if (jar != null) {
+          PersistentScanCache.save(jar, packagePrefix, result);
+        }
+      }
+      return result;
+    }
+
+    /**
+     * Gets the local jar file of this root. Class directories are not persisted, because they change during development.
+     *
+     * @return The jar file, or null if this root is not a local jar.
+     */
+    private @Nullable Path getJarPath() {
+      try {
+        var location = url.toExternalForm();
+        if (location.startsWith("jar:") && location.endsWith("!/")) {
+          location = location.substring("jar:".length(), location.length() - "!/".length());
+        }
+        var path = Path.of(new URI(location));
+        return Files.isRegularFile(path) ? path : null;
+      } catch (URISyntaxException | IllegalArgumentException | FileSystemNotFoundException exception) {
+        return null;
+      }
+    }
+  }
+}
@@ -0,0 +1,124 @@
+package com.dotnomi.fabricdependencyinjection;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The Java Flight Recorder events emitted by the containers, so that recordings show the overhead of dependency
+ * injection next to GC and tick times without enabling debug logging.
+ * <p>
+ * Events are created on the stack and only committed if {@link Event#shouldCommit()} is true. While the
+ * Flight Recorder is not running, the JIT removes them entirely.
+ */
+final class ContainerEvents {
+  private static final String CATEGORY = "Fabric Dependency Injection";
+
+  private ContainerEvents() {
+  }
+
+  /**
+   * The initialization of a container, from the discovery of the managed classes until it is running or has failed.
+   */
+  @Name("com.dotnomi.fabricdependencyinjection.ContainerInitialization")
+  @Label("Container Initialization")
+  @Category(CATEGORY)
+  @StackTrace(false)
+  static final class Initialization extends Event {
+    @Label("Mod ID")
+    String modId;
+
+    @Label("Managed Classes")
+    int managedClassCount;
+
+    @Label("Parallel")
+    boolean parallel;
+
+    @Label("Succeeded")
+    boolean succeeded;
+  }
+
+  /**
+   * The discovery of a container's managed classes.
+   */
+  @Name("com.dotnomi.fabricdependencyinjection.ClasspathScan")
+  @Label("Classpath Scan")
+  @Category(CATEGORY)
+  @StackTrace(false)
+  static final class ClasspathScan extends Event {
+    @Label("Mod ID")
+    String modId;
+
+    @Label("Base Package")
+    String basePackage;
+
+    @Label("Compile-time Index")
+    @Description("True if the classes were read from the compile-time index instead of scanning the classpath")
+    boolean indexed;
+
+    @Label("Managed Classes")
+    int managedClassCount;
+  }
+
+  /**
+   * The construction of a bean, including the resolution of its constructor arguments.
+   */
+  @Name("com.dotnomi.fabricdependencyinjection.BeanInstantiation")
+  @Label("Bean Instantiation")
+  @Category(CATEGORY)
+  static final class BeanInstantiation extends Event {
+    @Label("Mod ID")
+    String modId;
+
+    @Label("Bean Class")
+    Class<?> beanClass;
+
+    @Label("Generated Factory")
+    boolean generatedFactory;
+  }
+
+  /**
+   * The invocation of a bean's {@code @PostConstruct} method.
+   */
+  @Name("com.dotnomi.fabricdependencyinjection.PostConstruct")
+  @Label("@PostConstruct Invocation")
+  @Category(CATEGORY)
+  static final class PostConstruct extends Event {
+    @Label("Mod ID")
+    String modId;
+
+    @Label("Bean Class")
+    Class<?> beanClass;
+  }
+
+  /**
+   * A lookup that could not be answered from the registry, including the creation of the bean if required.
+   */
+  @Name("com.dotnomi.fabricdependencyinjection.LookupMiss")
+  @Label("Lookup Miss")
+  @Category(CATEGORY)
+  static final class LookupMiss extends Event {
+    @Label("Mod ID")
+    String modId;
+
+    @Label("Requested Class")
+    Class<?> requestedClass;
+
+    @Label("Identifier")
+    String identifier;
+  }
+
+  /**
+   * The time a thread waited to acquire the monitor of a container.
+   */
+  @Name("com.dotnomi.fabricdependencyinjection.ContainerLockWait")
+  @Label("Container Lock Wait")
+  @Category(CATEGORY)
+  static final class LockWait extends Event {
+    @Label("Mod ID")
+    String modId;
+  }
+}
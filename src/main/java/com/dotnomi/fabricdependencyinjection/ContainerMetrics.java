@@ -0,0 +1,237 @@
+package com.dotnomi.fabricdependencyinjection;
+
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Live runtime metrics of a single container, available through {@link ModInjector#getMetrics(String)}
+ * and as a platform MBean (see {@link ContainerMetricsMXBean}).
+ * <p>
+ * All counters are {@link LongAdder}s, so recording never blocks and scales with the number of threads
+ * looking up beans. The getters always return the current values.
+ * <p>
+ * Lookups are only counted per requested type if the {@value #LOOKUPS_BY_TYPE_PROPERTY} system property is set to
+ * {@code true} when the container is created, because the additional map lookup is paid by every resolution.
+ */
+public final class ContainerMetrics implements ContainerMetricsMXBean {
+  /**
+   * The system property that enables counting lookups per requested type if set to {@code true}.
+   */
+  public static final String LOOKUPS_BY_TYPE_PROPERTY = "fabricdependencyinjection.metrics.lookupsByType";
+
+  private static final Logger logger = LoggerFactory.getLogger(ContainerMetrics.class);
+
+  private final String modId;
+  private final Supplier<ContainerStatus> status;
+  private final boolean recordLookupsByType = Boolean.getBoolean(LOOKUPS_BY_TYPE_PROPERTY);
+  private final LongAdder lookups = new LongAdder();
+  private final Map<Class<?>, LongAdder> lookupsByType = new ConcurrentHashMap<>();
+  private final LongAdder registryHits = new LongAdder();
+  private final LongAdder registryMisses = new LongAdder();
+  private final LongAdder lazyCreations = new LongAdder();
+  private final LongAdder lockAcquisitions = new LongAdder();
+  private final LongAdder lockWaitNanos = new LongAdder();
+  private final LongAdder beans = new LongAdder();
+  private volatile long initializationNanos = -1;
+  private volatile long initializedAtNanos;
+
+  /**
+   * Creates the metrics of a container.
+   *
+   * @param modId The ID of the mod the container belongs to.
+   * @param status Supplies the current status of the container.
+   */
+  ContainerMetrics(@NotNull String modId, @NotNull Supplier<ContainerStatus> status) {
+    this.modId = modId;
+    this.status = status;
+  }
+
+  @Override
+  public @NotNull String getModId() {
+    return modId;
+  }
+
+  @Override
+  public @NotNull String getStatus() {
+    return status.get().name();
+  }
+
+  @Override
+  public long getLookupCount() {
+    return lookups.sum();
+  }
+
+  @Override
+  public @NotNull Map<String, Long> getLookupCountsByType() {
+    var result = new TreeMap<String, Long>();
+    lookupsByType.forEach((type, count) -> result.put(type.getName(), count.sum()));
+    return result;
+  }
+
+  @Override
+  public double getLookupsPerSecond() {
+    var initializedAt = initializedAtNanos;
+    if (initializedAt == 0) {
+      return 0;
+    }
+    var elapsedSeconds = (System.nanoTime() - initializedAt) / (double) TimeUnit.SECONDS.toNanos(1);
+    return elapsedSeconds > 0 ? lookups.sum() / elapsedSeconds : 0;
+  }
+
+  @Override
+  public long getRegistryHits() {
+    return registryHits.sum();
+  }
+
+  @Override
+  public long getRegistryMisses() {
+    return registryMisses.sum();
+  }
+
+  @Override
+  public long getLazyCreations() {
+    return lazyCreations.sum();
+  }
+
+  @Override
+  public long getLockAcquisitions() {
+    return lockAcquisitions.sum();
+  }
+
+  @Override
+  public long getLockWaitNanos() {
+    return lockWaitNanos.sum();
+  }
+
+  @Override
+  public long getBeanCount() {
+    return beans.sum();
+  }
+
+  @Override
+  public long getInitializationMillis() {
+    var nanos = initializationNanos;
+    return nanos < 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(nanos);
+  }
+
+  /**
+   * Records a single-bean lookup through {@link ModInjector}.
+   *
+   * @param type The requested type.
+   */
+  void recordLookup(@NotNull Class<?> type) {
+    lookups.increment();
+    if (!recordLookupsByType) {
+      return;
+    }
+
+    var counter = lookupsByType.get(type);
+    if (counter == null) {
+      counter = lookupsByType.computeIfAbsent(type, key -> new LongAdder());
+    }
+    counter.increment();
+  }
+
+  /**
+   * Records a resolution that was answered with an existing singleton bean by the resolved bean table or the registry.
+   */
+  void recordRegistryHit() {
+    registryHits.increment();
+  }
+
+  /**
+   * Records a resolution that did not find an existing bean.
+   */
+  void recordRegistryMiss() {
+    registryMisses.increment();
+  }
+
+  /**
+   * Records beans created on demand after the initialization.
+   *
+   * @param count The number of created beans.
+   */
+  void recordLazyCreations(int count) {
+    lazyCreations.add(count);
+  }
+
+  /**
+   * Records an acquisition of the container's lock.
+   *
+   * @param waitNanos The time spent waiting for the lock.
+   */
+  void recordLockWait(long waitNanos) {
+    lockAcquisitions.increment();
+    lockWaitNanos.add(waitNanos);
+  }
+
+  /**
+   * Records a bean registered in the container.
+   */
+  void recordBean() {
+    beans.increment();
+  }
+
+  /**
+   * Records the end of the initialization.
+   *
+   * @param durationNanos The duration of the initialization.
+   */
+  void recordInitialization(long durationNanos) {
+    initializationNanos = durationNanos;
+    initializedAtNanos = System.nanoTime();
+  }
+
+  /**
+   * Registers these metrics with the platform MBean server, replacing the MBean of a previous container
+   * of the same mod. Failures are logged and otherwise ignored, because metrics are optional.
+   */
+  void register() {
+    try {
+      var server = ManagementFactory.getPlatformMBeanServer();
+      var objectName = getObjectName();
+      if (server.isRegistered(objectName)) {
+        server.unregisterMBean(objectName);
+      }
+      server.registerMBean(this, objectName);
+    } catch (JMException | RuntimeException exception) {
+      logger.warn("[{}] Failed to register the container metrics MBean.", modId, exception);
+    }
+  }
+
+  /**
+   * Removes these metrics from the platform MBean server. Failures are logged and otherwise ignored.
+   */
+  void unregister() {
+    try {
+      var server = ManagementFactory.getPlatformMBeanServer();
+      var objectName = getObjectName();
+      if (server.isRegistered(objectName)) {
+        server.unregisterMBean(objectName);
+      }
+    } catch (JMException | RuntimeException exception) {
+      logger.warn("[{}] Failed to unregister the container metrics MBean.", modId, exception);
+    }
+  }
+
+  /**
+   * Gets the name these metrics are registered under.
+   *
+   * @return The object name.
+   * @throws JMException If the mod ID cannot be turned into an object name.
+   */
+  @NotNull ObjectName getObjectName() throws JMException {
+    return new ObjectName("com.dotnomi.fabricdependencyinjection:type=ModContainer,name=" + ObjectName.quote(modId));
+  }
+}
@@ -0,0 +1,100 @@
+package com.dotnomi.fabricdependencyinjection;
+
+import java.util.Map;
+
+/**
+ * The management interface of {@link ContainerMetrics}. Every container registers its metrics with the platform
+ * MBean server under {@code com.dotnomi.fabricdependencyinjection:type=ModContainer,name="<modId>"}, so they can be
+ * read with JConsole, VisualVM or any other JMX client.
+ */
+public interface ContainerMetricsMXBean {
+  /**
+   * Gets the ID of the mod the container belongs to.
+   *
+   * @return The mod ID.
+   */
+  String getModId();
+
+  /**
+   * Gets the current status of the container.
+   *
+   * @return The name of the {@link ContainerStatus}.
+   */
+  String getStatus();
+
+  /**
+   * Gets the number of single-bean lookups through {@link ModInjector#getInstanceOf(String, Class, String)}. The
+   * resolution of dependencies by the container is not counted.
+   *
+   * @return The number of lookups.
+   */
+  long getLookupCount();
+
+  /**
+   * Gets the number of single-bean lookups per requested type. Only recorded if the
+   * {@value ContainerMetrics#LOOKUPS_BY_TYPE_PROPERTY} system property is set to {@code true}.
+   *
+   * @return The number of lookups, keyed by the name of the requested type, or an empty map if they are not recorded.
+   */
+  Map<String, Long> getLookupCountsByType();
+
+  /**
+   * Gets the average number of lookups per second since the container has been initialized.
+   *
+   * @return The lookup rate, or 0 if the container has not been initialized yet.
+   */
+  double getLookupsPerSecond();
+
+  /**
+   * Gets the number of resolutions, including those of dependencies, that were answered with an existing singleton
+   * bean by the resolved bean table of a running container or by the registry. Prototype and thread-scoped beans are
+   * created or held by their scope and are therefore neither hits nor misses.
+   *
+   * @return The number of registry hits.
+   */
+  long getRegistryHits();
+
+  /**
+   * Gets the number of resolutions, including those of dependencies, that did not find an existing singleton bean in
+   * the registry and had to create it.
+   *
+   * @return The number of registry misses.
+   */
+  long getRegistryMisses();
+
+  /**
+   * Gets the number of beans that were created on demand by a lookup instead of by the initialization,
+   * e.g. {@code @Lazy} beans.
+   *
+   * @return The number of beans created on demand.
+   */
+  long getLazyCreations();
+
+  /**
+   * Gets the number of times a lookup acquired the container's lock to create a missing bean.
+   *
+   * @return The number of lock acquisitions.
+   */
+  long getLockAcquisitions();
+
+  /**
+   * Gets the total time lookups spent waiting for the container's lock.
+   *
+   * @return The accumulated wait time in nanoseconds.
+   */
+  long getLockWaitNanos();
+
+  /**
+   * Gets the number of beans held by the container, including the main instance.
+   *
+   * @return The number of beans.
+   */
+  long getBeanCount();
+
+  /**
+   * Gets the duration of the container's initialization.
+   *
+   * @return The duration in milliseconds, or -1 if the initialization has not finished yet.
+   */
+  long getInitializationMillis();
+}
@@ -4,4 +4,5 @@ public enum ContainerStatus {
   INITIALIZING,
   RUNNING,
   FAILED,
+  CLOSED,
 }
@@ -0,0 +1,319 @@
+package com.dotnomi.fabricdependencyinjection;
+
+import com.dotnomi.fabricdependencyinjection.annotation.ModInject;
+import com.dotnomi.fabricdependencyinjection.exception.CircularDependencyException;
+import com.dotnomi.fabricdependencyinjection.exception.CircularDependencyFormatter;
+import com.dotnomi.fabricdependencyinjection.exception.ModInjectorException;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * The dependency graph of a set of bean classes, built from their constructor parameters and {@link ModInject} fields
+ * before any instance is created.
+ * <p>
+ * The graph is split into strongly connected components (Tarjan's algorithm), which are ordered so that every
+ * component comes after all components it depends on. A component with more than one bean can only be created if
+ * its cycles pass through at least one field, because an instance is registered before its fields are injected.
+ * Cycles made only of constructor parameters can never be satisfied and are reported by {@link #validate()}.
+ * <p>
+ * Nodes are sorted by class name, so the resulting order does not depend on the discovery order.
+ */
+final class DependencyGraph {
+  private static final Comparator<Class<?>> BY_NAME = Comparator.comparing(Class::getName);
+
+  private final List<Class<?>> nodes;
+  private final Map<Class<?>, Set<Class<?>>> constructorDependencies;
+  private final Map<Class<?>, Set<Class<?>>> allDependencies;
+  private final List<Component> components;
+  private final Map<Class<?>, Component> componentsByNode = new HashMap<>();
+
+  private DependencyGraph(@NotNull List<Class<?>> nodes, @NotNull Map<Class<?>, Set<Class<?>>> constructorDependencies, @NotNull Map<Class<?>, Set<Class<?>>> allDependencies) {
+    this.nodes = nodes;
+    this.constructorDependencies = constructorDependencies;
+    this.allDependencies = allDependencies;
+
+    var stronglyConnected = findStronglyConnectedComponents(nodes, allDependencies);
+    var result = new ArrayList<Component>(stronglyConnected.size());
+    for (var beans : stronglyConnected) {
+      var cyclic = beans.size() > 1 || allDependencies.get(beans.getFirst()).contains(beans.getFirst());
+      var component = new Component(result.size(), cyclic ? orderByConstructorDependencies(beans) : beans, cyclic);
+      beans.forEach(bean -> componentsByNode.put(bean, component));
+      result.add(component);
+    }
+    this.components = List.copyOf(result);
+  }
+
+  /**
+   * Builds the dependency graph starting from the given bean classes. Dependencies that resolve to another bean
+   * class accepted by the filter are added to the graph transitively.
+   * <p>
+   * Classes whose metadata is invalid are added without dependencies, so that the validation error is reported
+   * when the class is instantiated, exactly like without a graph.
+   *
+   * @param roots The concrete classes to build the graph for.
+   * @param dependencyResolver Maps a dependency to the bean classes that can satisfy it.
+   * @param beanFilter Decides whether a resolved class has to be created as part of the graph.
+   * @return The new graph.
+   */
+  static @NotNull DependencyGraph build(@NotNull Collection<Class<?>> roots, @NotNull Function<BeanMetadata.Dependency, Collection<Class<?>>> dependencyResolver, @NotNull Predicate<Class<?>> beanFilter) {
+    return build(roots, dependencyResolver, beanFilter, bean -> true);
+  }
+
+  /**
+   * Builds the dependency graph starting from the given bean classes, like {@link #build(Collection, Function, Predicate)}.
+   * Beans that are not registered before their fields are injected, such as prototypes, cannot resolve a cycle
+   * through one of their fields; their field dependencies are therefore treated like constructor parameters.
+   *
+   * @param roots The concrete classes to build the graph for.
+   * @param dependencyResolver Maps a dependency to the bean classes that can satisfy it.
+   * @param beanFilter Decides whether a resolved class has to be created as part of the graph.
+   * @param registeredBeforeFields Decides whether a bean class is registered before its fields are injected.
+   * @return The new graph.
+   */
+  static @NotNull DependencyGraph build(@NotNull Collection<Class<?>> roots, @NotNull Function<BeanMetadata.Dependency, Collection<Class<?>>> dependencyResolver, @NotNull Predicate<Class<?>> beanFilter, @NotNull Predicate<Class<?>> registeredBeforeFields) {
+    var constructorDependencies = new HashMap<Class<?>, Set<Class<?>>>();
+    var allDependencies = new HashMap<Class<?>, Set<Class<?>>>();
+    var pendingNodes = new ArrayDeque<Class<?>>(roots);
+
+    while (!pendingNodes.isEmpty()) {
+      var node = pendingNodes.poll();
+      if (allDependencies.containsKey(node)) {
+        continue;
+      }
+
+      var nodeConstructorDependencies = new LinkedHashSet<Class<?>>();
+      var nodeAllDependencies = new LinkedHashSet<Class<?>>();
+      try {
+        var beanMetadata = BeanMetadata.of(node);
+        for (var dependency : beanMetadata.getConstructorInjection().dependencies()) {
+          nodeConstructorDependencies.addAll(resolve(dependency, dependencyResolver, beanFilter));
+        }
+        nodeAllDependencies.addAll(nodeConstructorDependencies);
+        for (var fieldInjection : beanMetadata.getFieldInjections()) {
+          nodeAllDependencies.addAll(resolve(fieldInjection.dependency(), dependencyResolver, beanFilter));
+        }
+        if (!registeredBeforeFields.test(node)) {
+          nodeConstructorDependencies.addAll(nodeAllDependencies);
+        }
+      } catch (ModInjectorException exception) {
+        nodeConstructorDependencies.clear();
+        nodeAllDependencies.clear();
+      }
+
+      constructorDependencies.put(node, nodeConstructorDependencies);
+      allDependencies.put(node, nodeAllDependencies);
+      pendingNodes.addAll(nodeAllDependencies);
+    }
+
+    var nodes = allDependencies.keySet().stream().sorted(BY_NAME).toList();
+    return new DependencyGraph(nodes, constructorDependencies, allDependencies);
+  }
+
+  private static @NotNull List<Class<?>> resolve(@NotNull BeanMetadata.Dependency dependency, @NotNull Function<BeanMetadata.Dependency, Collection<Class<?>>> dependencyResolver, @NotNull Predicate<Class<?>> beanFilter) {
+    return dependencyResolver.apply(dependency).stream()
+      .filter(beanFilter)
+      .sorted(BY_NAME)
+      .toList();
+  }
+
+  /**
+   * Checks that every cycle of the graph passes through at least one field.
+   *
+   * @throws CircularDependencyException If the graph contains cycles made only of constructor parameters.
+   *         All of these cycles are reported at once.
+   */
+  void validate() {
+    var cycles = new ArrayList<List<Class<?>>>();
+    for (var component : findStronglyConnectedComponents(nodes, constructorDependencies)) {
+      var start = component.getFirst();
+      if (component.size() > 1 || constructorDependencies.get(start).contains(start)) {
+        cycles.add(findCycle(start, Set.copyOf(component)));
+      }
+    }
+
+    if (!cycles.isEmpty()) {
+      throw new CircularDependencyException(cycles);
+    }
+  }
+
+  /**
+   * Gets all bean classes of the graph.
+   *
+   * @return The bean classes, sorted by name.
+   */
+  @NotNull List<Class<?>> getNodes() {
+    return nodes;
+  }
+
+  /**
+   * Gets the strongly connected components of the graph. Every component comes after all components it depends on.
+   *
+   * @return The components in creation order.
+   */
+  @NotNull List<Component> getComponents() {
+    return components;
+  }
+
+  /**
+   * Gets the components the given component directly depends on, excluding itself.
+   *
+   * @param component A component of this graph.
+   * @return The components that must be created before the given component.
+   */
+  @NotNull Set<Component> getDependencies(@NotNull Component component) {
+    var result = new LinkedHashSet<Component>();
+    for (var bean : component.beans()) {
+      for (var dependency : allDependencies.get(bean)) {
+        var dependencyComponent = componentsByNode.get(dependency);
+        if (dependencyComponent != component) {
+          result.add(dependencyComponent);
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Finds the shortest cycle of constructor dependencies from the given class back to itself.
+   *
+   * @return The cycle as rendered by {@link CircularDependencyFormatter}, starting and ending with the given class.
+   */
+  private @NotNull List<Class<?>> findCycle(@NotNull Class<?> start, @NotNull Set<Class<?>> component) {
+    var predecessors = new HashMap<Class<?>, Class<?>>();
+    var pendingNodes = new ArrayDeque<Class<?>>();
+    pendingNodes.add(start);
+
+    while (!pendingNodes.isEmpty()) {
+      var node = pendingNodes.poll();
+      for (var dependency : constructorDependencies.get(node)) {
+        if (dependency == start) {
+          var cycle = new ArrayList<Class<?>>();
+          cycle.add(start);
+          for (var current = node; current != start; current = predecessors.get(current)) {
+            cycle.add(1, current);
+          }
+          cycle.add(start);
+          return cycle;
+        }
+        if (component.contains(dependency) && !predecessors.containsKey(dependency)) {
+          predecessors.put(dependency, node);
+          pendingNodes.add(dependency);
+        }
+      }
+    }
+    return List.of(start, start);
+  }
+
+  /**
+   * Orders the beans of a cyclic component so that every bean comes after the beans its constructor depends on.
+   * Only valid graphs are created, so the constructor dependencies inside a component never form a cycle.
+   */
+  private @NotNull List<Class<?>> orderByConstructorDependencies(@NotNull List<Class<?>> beans) {
+    var order = new ArrayList<Class<?>>(beans.size());
+    var visited = new HashSet<Class<?>>();
+    var members = Set.copyOf(beans);
+    for (var bean : beans) {
+      visitConstructorDependencies(bean, members, visited, order);
+    }
+    return List.copyOf(order);
+  }
+
+  private void visitConstructorDependencies(@NotNull Class<?> bean, @NotNull Set<Class<?>> members, @NotNull Set<Class<?>> visited, @NotNull List<Class<?>> order) {
+    if (!visited.add(bean)) {
+      return;
+    }
+    for (var dependency : constructorDependencies.get(bean)) {
+      if (members.contains(dependency)) {
+        visitConstructorDependencies(dependency, members, visited, order);
+      }
+    }
+    order.add(bean);
+  }
+
+  /**
+   * Finds the strongly connected components with an iterative version of Tarjan's algorithm.
+   * A component is emitted once everything reachable from it has been emitted, so dependencies come first.
+   */
+  private static @NotNull List<List<Class<?>>> findStronglyConnectedComponents(@NotNull List<Class<?>> nodes, @NotNull Map<Class<?>, Set<Class<?>>> edges) {
+    var indices = new HashMap<Class<?>, Integer>();
+    var lowLinks = new HashMap<Class<?>, Integer>();
+    var componentStack = new ArrayDeque<Class<?>>();
+    var onComponentStack = new HashSet<Class<?>>();
+    var result = new ArrayList<List<Class<?>>>();
+
+    for (var root : nodes) {
+      if (indices.containsKey(root)) {
+        continue;
+      }
+
+      var callStack = new ArrayDeque<Map.Entry<Class<?>, Iterator<Class<?>>>>();
+      indices.put(root, indices.size());
+      lowLinks.put(root, indices.get(root));
+      componentStack.push(root);
+      onComponentStack.add(root);
+      callStack.push(Map.entry(root, edges.get(root).iterator()));
+
+      while (!callStack.isEmpty()) {
+        var frame = callStack.peek();
+        var node = frame.getKey();
+        var dependencies = frame.getValue();
+
+        if (dependencies.hasNext()) {
+          var dependency = dependencies.next();
+          if (!indices.containsKey(dependency)) {
+            indices.put(dependency, indices.size());
+            lowLinks.put(dependency, indices.get(dependency));
+            componentStack.push(dependency);
+            onComponentStack.add(dependency);
+            callStack.push(Map.entry(dependency, edges.get(dependency).iterator()));
+          } else if (onComponentStack.contains(dependency)) {
+            lowLinks.put(node, Math.min(lowLinks.get(node), indices.get(dependency)));
+          }
+          continue;
+        }
+
+        callStack.pop();
+        if (!callStack.isEmpty()) {
+          var parent = callStack.peek().getKey();
+          lowLinks.put(parent, Math.min(lowLinks.get(parent), lowLinks.get(node)));
+        }
+
+        if (lowLinks.get(node).equals(indices.get(node))) {
+          var component = new ArrayList<Class<?>>();
+          Class<?> member;
+          do {
+            member = componentStack.pop();
+            onComponentStack.remove(member);
+            component.add(member);
+          } while (member != node);
+          component.sort(BY_NAME);
+          result.add(List.copyOf(component));
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * A strongly connected component of the graph.
+   *
+   * @param index The position of the component in creation order.
+   * @param beans The beans of the component. For cyclic components, every bean comes after the beans its constructor depends on.
+   * @param cyclic True if the beans depend on each other, so they have to be constructed before any field is injected.
+   */
+  record Component(int index, @NotNull List<Class<?>> beans, boolean cyclic) {
+  }
+}
@@ -0,0 +1,176 @@
+package com.dotnomi.fabricdependencyinjection;
+
+import com.dotnomi.fabricdependencyinjection.annotation.Subscribe;
+import com.dotnomi.fabricdependencyinjection.exception.ContainerNotInitializedException;
+import com.dotnomi.fabricdependencyinjection.exception.ModInjectorException;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The event bus of a mod's container. It dispatches posted events to all {@link Subscribe} methods of the mod's
+ * beans whose parameter type the event is an instance of, so a handler for a supertype or an interface receives the
+ * events of all its subtypes as well.
+ * <p>
+ * The subscribers are collected once, when the container has created all of its beans; beans with {@link Subscribe}
+ * methods are therefore always created during the initialization, even if they are {@code @Lazy}. Events posted
+ * before the container is running or after it has been closed are rejected.
+ * <p>
+ * Each subscriber is invoked through a {@link MethodHandle} bound to its bean. The handlers of each event class are
+ * collected into an array on the first post of that class and then cached in a {@link ClassValue}, so posting an
+ * event is a lock-free read followed by a loop over the array, without reflection or allocation.
+ * <p>
+ * The event bus is registered in its container and can be injected like any other bean.
+ */
+public final class EventBus {
+  private static final Logger logger = LoggerFactory.getLogger(EventBus.class);
+  private static final MethodType HANDLER_TYPE = MethodType.methodType(void.class, Object.class);
+  private static final Handler[] NO_HANDLERS = new Handler[0];
+
+  private final String modId;
+
+  /**
+   * The subscribers of all beans, in the order they were registered. Only used by the initializing thread before
+   * the bus is frozen.
+   */
+  private final List<Handler> handlers = new ArrayList<>();
+
+  /**
+   * The snapshot of {@link #handlers} the dispatch table is computed from. Published by {@link #freeze()} and
+   * replaced by an empty array on {@link #close()}, so readers never see a list that is modified concurrently.
+   */
+  private volatile Handler[] frozenHandlers = NO_HANDLERS;
+
+  /**
+   * The event classes {@link #dispatchTable} holds handlers for, so the table can be cleared when the bus is closed.
+   */
+  private final Set<Class<?>> dispatchedClasses = ConcurrentHashMap.newKeySet();
+
+  /**
+   * The handlers of each posted event class, in registration order.
+   */
+  private final ClassValue<Handler[]> dispatchTable = new ClassValue<>() {
+    @Override
+    protected Handler[] computeValue(@NotNull Class<?> eventClass) {
+      // Recorded before the handlers are read, so close() either removes this entry or it is computed from the empty snapshot
+      dispatchedClasses.add(eventClass);
+      var matchingHandlers = Arrays.stream(frozenHandlers)
+        .filter(handler -> handler.eventType().isAssignableFrom(eventClass))
+        .toArray(Handler[]::new);
+      return matchingHandlers.length == 0 ? NO_HANDLERS : matchingHandlers;
+    }
+  };
+
+  /**
+   * {@link ContainerStatus#RUNNING} once all subscribers have been registered and {@link ContainerStatus#CLOSED} once
+   * the container has been closed. Volatile, so posting threads see the change right away.
+   */
+  private volatile ContainerStatus status = ContainerStatus.INITIALIZING;
+
+  EventBus(@NotNull String modId) {
+    this.modId = modId;
+  }
+
+  /**
+   * Registers all {@link Subscribe} methods of a bean.
+   *
+   * @param bean The bean to register.
+   */
+  void register(@NotNull Object bean) {
+    for (var subscriber : BeanMetadata.of(bean.getClass()).getSubscribers()) {
+      logger.debug("[{}] Registering @Subscribe method [{}] of [{}] for events of type [{}].", modId, subscriber.method().getName(), bean.getClass().getName(), subscriber.eventType().getName());
+      var handle = subscriber.handle().bindTo(bean).asType(HANDLER_TYPE);
+      handlers.add(new Handler(subscriber.eventType(), handle, bean.getClass().getName() + "#" + subscriber.method().getName()));
+    }
+  }
+
+  /**
+   * Completes the registration. The handlers of all subscribed event types are collected right away, so the first
+   * post of these types does not have to build the dispatch table.
+   */
+  void freeze() {
+    var snapshot = handlers.toArray(Handler[]::new);
+    handlers.clear();
+    frozenHandlers = snapshot;
+    status = ContainerStatus.RUNNING;
+    Arrays.stream(snapshot).map(Handler::eventType).distinct().forEach(dispatchTable::get);
+    logger.debug("[{}] Registered {} event handlers.", modId, snapshot.length);
+  }
+
+  /**
+   * Closes the bus together with its container. Events are rejected from now on, and the handlers are dropped, so
+   * neither the bus nor the cached dispatch table keeps the beans of the closed container reachable.
+   */
+  void close() {
+    status = ContainerStatus.CLOSED;
+    frozenHandlers = NO_HANDLERS;
+    for (var eventClass : List.copyOf(dispatchedClasses)) {
+      dispatchTable.remove(eventClass);
+      dispatchedClasses.remove(eventClass);
+    }
+  }
+
+  /**
+   * Posts an event to all subscribers of its class, its superclasses and its interfaces, on the calling thread.
+   * The subscribers are invoked one after another in the order of their registration; unchecked exceptions thrown
+   * by a subscriber are passed through and stop the dispatch.
+   *
+   * @param event The event to post.
+   * @throws ContainerNotInitializedException If the container is not running yet or has been closed.
+   * @throws ModInjectorException If a subscriber throws a checked exception.
+   */
+  public void post(@NotNull Object event) {
+    var currentStatus = status;
+    if (currentStatus != ContainerStatus.RUNNING) {
+      if (currentStatus == ContainerStatus.CLOSED) {
+        throw new ContainerNotInitializedException(String.format("The event bus of mod '%s' has been closed together with its container and does not accept events anymore.", modId));
+      }
+      throw new ContainerNotInitializedException(String.format("The event bus of mod '%s' does not accept events yet. Events can only be posted once ModInjector.initialize() has returned.", modId));
+    }
+
+    for (var handler : dispatchTable.get(event.getClass())) {
+      handler.invoke(event);
+    }
+  }
+
+  /**
+   * Checks if any subscriber would receive events of the given class.
+   *
+   * @param eventClass The class of the event.
+   * @return True if at least one subscriber handles the class or one of its supertypes, false if there is none or
+   * the container is not running.
+   */
+  public boolean hasSubscribers(@NotNull Class<?> eventClass) {
+    if (status != ContainerStatus.RUNNING) {
+      return false;
+    }
+    return dispatchTable.get(eventClass).length > 0;
+  }
+
+  /**
+   * A subscriber bound to its bean, with a handle of type {@code (Object)void}.
+   *
+   * @param eventType The type of events the subscriber handles.
+   * @param handle The handle taking the event.
+   * @param name The name of the subscriber method, for error messages.
+   */
+  private record Handler(@NotNull Class<?> eventType, @NotNull MethodHandle handle, @NotNull String name) {
+    void invoke(@NotNull Object event) {
+      try {
+        handle.invokeExact(event);
+      } catch (RuntimeException | Error exception) {
+        throw exception;
+      } catch (Throwable throwable) {
+        throw new ModInjectorException(String.format("The @Subscribe method '%s' failed to handle an event of type '%s'. Please check the code inside this method for errors.", name, event.getClass().getName()), throwable);
+      }
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package com.dotnomi.fabricdependencyinjection;
+
+import com.dotnomi.fabricdependencyinjection.annotation.Lazy;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * The deferred handle injected in place of a {@link Lazy} bean that has not been created yet.
+ * The handle is a dynamic proxy of the requested interface, which looks up the bean on its first
+ * interface method call and delegates all interface method calls to it afterwards.
+ * <p>
+ * {@code hashCode}, {@code equals} and {@code toString} are answered by the proxy itself, based on its identity,
+ * so logging the handle or putting it into a hash-based collection does not create the bean.
+ */
+final class LazyBeanHandle implements InvocationHandler {
+  private final BeanResolver beanResolver;
+  private final Class<?> type;
+  private final @Nullable String identifier;
+  private volatile Object target;
+
+  private LazyBeanHandle(@NotNull BeanResolver beanResolver, @NotNull Class<?> type, @Nullable String identifier) {
+    this.beanResolver = beanResolver;
+    this.type = type;
+    this.identifier = identifier;
+  }
+
+  /**
+   * Creates a deferred handle for a bean.
+   *
+   * @param beanResolver The container to look up the bean in.
+   * @param type The interface the handle implements.
+   * @param identifier The optional identifier of the bean. Can be null.
+   * @param <T> The type of the interface.
+   * @return The deferred handle.
+   */
+  static <T> @NotNull T create(@NotNull BeanResolver beanResolver, @NotNull Class<T> type, @Nullable String identifier) {
+    var handle = new LazyBeanHandle(beanResolver, type, identifier);
+    return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handle));
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+    if (method.getDeclaringClass() == Object.class) {
+      return switch (method.getName()) {
+        case "hashCode" -> System.identityHashCode(proxy);
+        case "equals" -> proxy == args[0];
+        case "toString" -> identifier != null
+          ? String.format("LazyBeanHandle[%s, identifier=%s]", type.getName(), identifier)
+          : String.format("LazyBeanHandle[%s]", type.getName());
+        default -> throw new IllegalStateException("Unexpected Object method on a proxy: " + method);
+      };
+    }
+
+    var currentTarget = target;
+    if (currentTarget == null) {
+      currentTarget = beanResolver.getInstanceOf(type, identifier);
+      target = currentTarget;
+    }
+
+    try {
+      return method.invoke(currentTarget, args);
+    } catch (IllegalAccessException exception) {
+      // The interface is not public, so its methods must be made accessible first.
+      method.setAccessible(true);
+      return invoke(proxy, method, args);
+    } catch (InvocationTargetException exception) {
+      throw exception.getCause();
+    }
+  }
+}
@@ -1,63 +1,69 @@
 package com.dotnomi.fabricdependencyinjection;
 
+import com.dotnomi.fabricdependencyinjection.annotation.Lazy;
 import com.dotnomi.fabricdependencyinjection.annotation.ModIdentifier;
 import com.dotnomi.fabricdependencyinjection.annotation.ModInject;
 import com.dotnomi.fabricdependencyinjection.annotation.ModMain;
 import com.dotnomi.fabricdependencyinjection.annotation.ModScoped;
 import com.dotnomi.fabricdependencyinjection.annotation.PostConstruct;
+import com.dotnomi.fabricdependencyinjection.annotation.Scope;
+import com.dotnomi.fabricdependencyinjection.annotation.Subscribe;
 import com.dotnomi.fabricdependencyinjection.exception.CircularDependencyException;
 import com.dotnomi.fabricdependencyinjection.exception.ContainerAlreadyInitializedException;
 import com.dotnomi.fabricdependencyinjection.exception.ContainerNotInitializedException;
 import com.dotnomi.fabricdependencyinjection.exception.InstanceCreationException;
+import com.dotnomi.fabricdependencyinjection.exception.InvalidSubscribeMethodException;
 import com.dotnomi.fabricdependencyinjection.exception.ModInjectorException;
-import com.dotnomi.fabricdependencyinjection.exception.MultipleInjectableConstructorsException;
-import com.dotnomi.fabricdependencyinjection.exception.MultiplePostConstructMethodsException;
-import com.dotnomi.fabricdependencyinjection.exception.NoInjectableConstructorException;
 import com.dotnomi.fabricdependencyinjection.exception.NoMainClassException;
-import com.dotnomi.fabricdependencyinjection.exception.PostConstructMethodHasParametersException;
+import com.dotnomi.fabricdependencyinjection.exception.ScopeMismatchException;
 import com.dotnomi.fabricdependencyinjection.exception.TooManyInstancesFoundException;
 import com.dotnomi.fabricdependencyinjection.exception.UnmanagedClassException;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
-import org.reflections.Reflections;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Method;
+import java.lang.ref.Cleaner;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Modifier;
-import java.lang.reflect.ParameterizedType;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * The internal, stateful container that manages the DI lifecycle for a single mod.
  * This class handles classpath scanning, instance creation, dependency resolution, and caching.
  * It is designed to be thread-safe. This class is not intended for direct use by end-users.
  */
-final class ModContainer {
+final class ModContainer implements BeanResolver {
   private static final Logger logger = LoggerFactory.getLogger(ModContainer.class);
 
   /**
-   * Registry for storing and retrieving created singleton instances.
+   * Releases the {@link Scope#THREAD} instances of threads that have died and been garbage collected.
    */
-  private final BeanRegistry beanRegistry = new BeanRegistry();
+  private static final Cleaner threadCleaner = Cleaner.create();
 
   /**
-   * A queue to manage the order of class instantiation during initialization.
-   * Classes with list dependencies are processed last.
+   * Registry for storing and retrieving created singleton instances.
    */
-  private final Queue<Class<?>> instanceCreationQueue = new ConcurrentLinkedQueue<>();
+  private final BeanRegistry beanRegistry = new BeanRegistry();
 
   /**
-   * Stores the current instantiation path for the calling thread.
-   * This is used to detect circular dependencies. A List is used to preserve the order of instantiation.
-   * Using ThreadLocal ensures that dependency tracking is isolated per thread.
+   * The managed classes that are looked up once all planned beans have been created during initialization.
+   * This resolves managed types that are not planned themselves, e.g. abstract classes, exactly like a lookup would.
    */
-  private final ThreadLocal<List<Class<?>>> dependencyStack = ThreadLocal.withInitial(ArrayList::new);
+  private final Queue<Class<?>> instanceCreationQueue = new ConcurrentLinkedQueue<>();
 
   /**
    * The unique identifier for the mod this container belongs to.
@@ -71,10 +77,112 @@ final class ModContainer {
 
   /**
    * A cache of all classes annotated with {@link ModScoped}.
-   * This list is populated during the initial classpath scan and is used to resolve dependencies.
+   * This list is populated from the compile-time index or the initial classpath scan and is used to resolve dependencies.
    */
   private final List<Class<?>> managedClasses = new ArrayList<>();
 
+  /**
+   * All managed classes, indexed by every class and interface they are assignable to.
+   * Populated together with {@link #managedClasses} and used to find implementations without scanning.
+   */
+  private final TypeIndex<Class<?>> managedClassesByType = new TypeIndex<>();
+
+  /**
+   * The {@link ModIdentifier} values of all managed classes, or null for classes that do not declare one.
+   * Populated together with {@link #managedClasses}, either from the compile-time index or from the classpath scan.
+   */
+  private final Map<Class<?>, String> managedIdentifiers = new HashMap<>();
+
+  /**
+   * The binary names of the generated {@link BeanFactory} implementations, keyed by the class they create.
+   * Only populated from the compile-time index, because factories are generated by the same annotation processor.
+   */
+  private final Map<Class<?>, String> beanFactoryNames = new HashMap<>();
+
+  /**
+   * The {@link PrototypePlan} or {@link ThreadScope} of all non-singleton classes that have been requested, keyed by
+   * their class.
+   */
+  private final Map<Class<?>, ScopedBean> scopedBeans = new ConcurrentHashMap<>();
+
+  /**
+   * The instances of all {@link Scope#THREAD} beans that have not been released yet, across all threads.
+   * Closing the container releases them through this registry, including those of threads that are still alive.
+   */
+  private final Set<ThreadInstance> threadInstances = ConcurrentHashMap.newKeySet();
+
+  /**
+   * The classes whose instances are currently being constructed on each thread, in call order, or null if the thread
+   * is not constructing a bean. Catches cycles the dependency graph cannot see, e.g. a {@link BeanProvider} that is
+   * resolved inside a constructor, before they overflow the stack.
+   */
+  private final ThreadLocal<List<Class<?>>> constructionStack = new ThreadLocal<>();
+
+  /**
+   * Whether the beans assignable to a type include non-singletons, whose lists must not be shared between lookups.
+   * Only used once the container is running and the managed classes no longer change.
+   */
+  private final ClassValue<Boolean> scopedLists = new ClassValue<>() {
+    @Override
+    protected Boolean computeValue(@NotNull Class<?> type) {
+      return managedClassesByType.get(type).stream().anyMatch(managedClass -> !isSingleton(managedClass));
+    }
+  };
+
+  /**
+   * The frozen lookup table, set once the container reaches {@link ContainerStatus#RUNNING}.
+   * While it is null, lookups go through the locking initialization path.
+   */
+  private volatile @Nullable ResolvedBeanTable resolvedBeans;
+
+  /**
+   * Collects the timings of the initialization. Only set while {@link #initialize} is running,
+   * so beans created on demand later on are not recorded.
+   */
+  private volatile @Nullable StartupRecorder startupRecorder;
+
+  /**
+   * The timings of the initialization, set once the container is running or has failed.
+   */
+  private volatile @Nullable StartupReport startupReport;
+
+  /**
+   * The runtime metrics of this container, registered as a platform MBean once the initialization has finished.
+   */
+  private final ContainerMetrics metrics;
+
+  /**
+   * The event bus of this container, registered as a bean so it can be injected.
+   */
+  private final EventBus eventBus;
+
+  /**
+   * Guards {@link #initialize}. A separate lock is used because worker threads of a parallel initialization
+   * synchronize on the container itself when they have to create a bean lazily.
+   */
+  private final Object initializationLock = new Object();
+
+  /**
+   * The resolver passed to generated factories. Unlike the public lookup, it injects deferred handles for
+   * {@link Lazy} beans, exactly like the reflective injection.
+   */
+  private final BeanResolver injectionResolver = new BeanResolver() {
+    @Override
+    public <T> @NotNull T getInstanceOf(@NotNull Class<T> targetClass, @Nullable String identifier) {
+      return resolveInjection(targetClass, identifier);
+    }
+
+    @Override
+    public <T> @NotNull BeanList<T> getInstancesOf(@NotNull Class<T> targetClass) {
+      return ModContainer.this.getInstancesOf(targetClass);
+    }
+
+    @Override
+    public <T> @NotNull BeanProvider<T> getProviderOf(@NotNull Class<T> targetClass, @Nullable String identifier) {
+      return ModContainer.this.getProviderOf(targetClass, identifier);
+    }
+  };
+
   /**
    * Constructs a new container for the specified mod ID.
    *
@@ -82,6 +190,8 @@ final class ModContainer {
    */
   public ModContainer(@NotNull String modId) {
     this.modId = modId;
+    this.metrics = new ContainerMetrics(modId, this::getStatus);
+    this.eventBus = new EventBus(modId);
   }
 
   /**
@@ -93,70 +203,543 @@ final class ModContainer {
     return status;
   }
 
+  /**
+   * Gets the live runtime metrics of this container.
+   *
+   * @return The metrics.
+   */
+  public @NotNull ContainerMetrics getMetrics() {
+    return metrics;
+  }
+
+  /**
+   * Gets the event bus of this container.
+   *
+   * @return The event bus.
+   */
+  public @NotNull EventBus getEventBus() {
+    return eventBus;
+  }
+
+  /**
+   * Gets the timings of the initialization.
+   *
+   * @return The report of the finished or failed initialization.
+   * @throws ContainerNotInitializedException If the initialization has not finished yet.
+   */
+  public @NotNull StartupReport getStartupReport() {
+    var report = this.startupReport;
+    if (report == null) {
+      throw new ContainerNotInitializedException(String.format("The startup report for mod '%s' is not available yet. Wait until ModInjector.initialize() has returned.", modId));
+    }
+    return report;
+  }
+
   /**
    * Initializes the container. This method performs classpath scanning, identifies all {@link ModScoped} classes,
    * and pre-instantiates them to resolve all dependencies eagerly.
    * This method is synchronized to prevent concurrent initialization.
    *
    * @param mainInstance The main class of the mod, annotated with {@link ModMain}, used to determine the scanning root package.
+   * @param executor The executor to create independent beans on in parallel, or null to create all beans on the calling thread.
    * @throws ContainerAlreadyInitializedException If the container has already been initialized.
    * @throws NoMainClassException If the provided class is not annotated with {@link ModMain}.
    * @throws ModInjectorException If any error occurs during the initialization process.
    */
-  public synchronized void initialize(@NotNull Object mainInstance) {
-    if (this.status != ContainerStatus.INITIALIZING) {
-      throw new ContainerAlreadyInitializedException(String.format("The container for mod '%s' has already been initialized. The initialize() method must only be called once.", modId));
+  public void initialize(@NotNull Object mainInstance, @Nullable Executor executor) {
+    synchronized (initializationLock) {
+      if (this.status != ContainerStatus.INITIALIZING) {
+        throw new ContainerAlreadyInitializedException(String.format("The container for mod '%s' has already been initialized. The initialize() method must only be called once.", modId));
+      }
+
+      logger.debug("[{}] Starting container initialization...", modId);
+      var initializationEvent = new ContainerEvents.Initialization();
+      initializationEvent.begin();
+      var mainClass = mainInstance.getClass();
+      if (!mainClass.isAnnotationPresent(ModMain.class)) {
+        throw new NoMainClassException(String.format("The provided main class '%s' is not annotated with @ModMain. Please add the annotation to your mod's main class to allow it to be discovered.", mainClass.getName()));
+      }
+
+      var recorder = new StartupRecorder();
+      this.startupRecorder = recorder;
+
+      var modMainAnnotation = mainClass.getAnnotation(ModMain.class);
+      var basePackage = modMainAnnotation.packageName().isEmpty()
+        ? mainClass.getPackage().getName()
+        : modMainAnnotation.packageName();
+
+      var scanStart = System.nanoTime();
+      discoverManagedClasses(mainClass, basePackage);
+      recorder.recordScan(scanStart, System.nanoTime());
+      managedClasses.forEach(managedClass -> managedClassesByType.add(managedClass, managedClass));
+      beanRegistry.registerInstance(mainClass, mainInstance, getIdentifier(mainClass));
+      beanRegistry.registerInstance(EventBus.class, eventBus, null);
+      metrics.recordBean();
+      managedClasses.stream().filter(managedClass -> !isLazyType(managedClass)).forEach(instanceCreationQueue::add);
+      logger.debug("[{}] Found {} @ModScoped classes to manage: {}", modId, instanceCreationQueue.size(), instanceCreationQueue);
+
+      try {
+        var beanClasses = managedClasses.stream()
+          .filter(managedClass -> !managedClass.isAnnotationPresent(Lazy.class))
+          .filter(this::isUncreatedBean)
+          .toList();
+        var planningStart = System.nanoTime();
+        var dependencyGraph = planInstances(beanClasses);
+        validateScopes();
+        recorder.recordPlanning(planningStart, System.nanoTime());
+        logger.debug("[{}] Planned the creation of {} beans in {} steps.", modId, dependencyGraph.getNodes().size(), dependencyGraph.getComponents().size());
+        if (executor != null) {
+          createInstancesInParallel(dependencyGraph, executor);
+        } else {
+          var lockWaitEvent = new ContainerEvents.LockWait();
+          lockWaitEvent.begin();
+          synchronized (this) {
+            commitLockWait(lockWaitEvent);
+            createInstances(dependencyGraph);
+          }
+        }
+
+        // Resolves the remaining managed types, e.g. abstract classes, exactly like a lookup would.
+        while (!instanceCreationQueue.isEmpty()) {
+          var modScopedClass = instanceCreationQueue.poll();
+          try {
+            getInstanceOf(modScopedClass, null);
+          } catch (Exception exception) {
+            instanceCreationQueue.clear();
+            logger.error("[{}] Failed to pre-instantiate or register class {} for DI.", modId, modScopedClass.getName(), exception);
+            throw exception;
+          }
+        }
+
+        injectMainInstance(mainInstance);
+        registerSubscribers(mainInstance);
+        this.resolvedBeans = new ResolvedBeanTable(this::resolveTableEntry, this::resolveInstances);
+        this.status = ContainerStatus.RUNNING;
+        logger.info("[{}] ModInjector initialized successfully.", modId);
+      } catch (Exception exception) {
+        this.status = ContainerStatus.FAILED;
+        throw exception;
+      } finally {
+        this.startupRecorder = null;
+        var report = recorder.finish(modId);
+        this.startupReport = report;
+        metrics.recordInitialization(report.getTotalDuration().toNanos());
+        if (status == ContainerStatus.RUNNING) {
+          metrics.register();
+        }
+        initializationEvent.end();
+        if (initializationEvent.shouldCommit()) {
+          initializationEvent.modId = modId;
+          initializationEvent.managedClassCount = managedClasses.size();
+          initializationEvent.parallel = executor != null;
+          initializationEvent.succeeded = status == ContainerStatus.RUNNING;
+          initializationEvent.commit();
+        }
+      }
     }
+  }
 
-    logger.debug("[{}] Starting container initialization...", modId);
+  /**
+   * Closes the container. Lookups and posted events fail from now on, the resolved lookups are dropped, the
+   * {@link Scope#THREAD} instances of all threads are released and the metrics MBean is unregistered. Singletons are not closed, because they may still be referenced by the
+   * mod. Closing an already closed container has no effect.
+   */
+  public void close() {
+    synchronized (initializationLock) {
+      if (this.status == ContainerStatus.CLOSED) {
+        return;
+      }
 
-    var mainClass = mainInstance.getClass();
-    if (!mainClass.isAnnotationPresent(ModMain.class)) {
-      throw new NoMainClassException(String.format("The provided main class '%s' is not annotated with @ModMain. Please add the annotation to your mod's main class to allow it to be discovered.", mainClass.getName()));
+      this.status = ContainerStatus.CLOSED;
+      var resolvedBeanTable = this.resolvedBeans;
+      this.resolvedBeans = null;
+      if (resolvedBeanTable != null) {
+        resolvedBeanTable.clear();
+      }
+      for (var threadInstance : List.copyOf(threadInstances)) {
+        threadInstance.cleanable.clean();
+      }
+      eventBus.close();
+      metrics.unregister();
+      logger.info("[{}] ModInjector closed.", modId);
     }
+  }
 
-    beanRegistry.registerInstance(mainClass, mainInstance, null);
+  /**
+   * Registers the {@link Subscribe} methods of the main instance and of all managed beans with the event bus and
+   * freezes it. Beans with subscribers that have not been created yet, i.e. {@link Lazy} beans, are created now.
+   * The main class is skipped in the managed classes, because the compile-time index lists it as well.
+   *
+   * @param mainInstance The main instance of the mod.
+   */
+  private void registerSubscribers(@NotNull Object mainInstance) {
+    eventBus.register(mainInstance);
+    for (var managedClass : managedClasses) {
+      if (managedClass == mainInstance.getClass() || managedClass.isInterface() || Modifier.isAbstract(managedClass.getModifiers()) || BeanMetadata.of(managedClass).getSubscribers().isEmpty()) {
+        continue;
+      }
+      if (!isSingleton(managedClass)) {
+        throw new InvalidSubscribeMethodException(String.format("The %s bean '%s' declares @Subscribe methods. Events are only dispatched to singletons; move the methods to a singleton bean.", getScope(managedClass).name().toLowerCase(Locale.ROOT), managedClass.getName()));
+      }
+      eventBus.register(getInstanceOf(managedClass, managedIdentifiers.get(managedClass)));
+    }
+    eventBus.freeze();
+  }
 
-    var modMainAnnotation = mainClass.getAnnotation(ModMain.class);
-    var basePackage = modMainAnnotation.packageName().isEmpty()
-      ? mainClass.getPackage().getName()
-      : modMainAnnotation.packageName();
+  /**
+   * Builds and validates the dependency graph of the given bean classes and of all beans they transitively depend on
+   * that have not been created yet.
+   *
+   * @param beanClasses The concrete classes to create.
+   * @return The validated dependency graph.
+   * @throws CircularDependencyException If the classes depend on each other through constructor parameters only.
+   */
+  private @NotNull DependencyGraph planInstances(@NotNull Collection<Class<?>> beanClasses) {
+    var dependencyGraph = DependencyGraph.build(
+      beanClasses,
+      dependency -> dependency.provider() || isDeferred(dependency) ? List.of() : findCandidateClasses(dependency),
+      this::isUncreatedBean
+    );
+    dependencyGraph.validate();
+    return dependencyGraph;
+  }
 
-    logger.info("[{}] Starting classpath scanning for package: {}", modId, basePackage);
-    var reflections = new Reflections(basePackage);
-    managedClasses.addAll(reflections.getTypesAnnotatedWith(ModScoped.class));
-    instanceCreationQueue.addAll(managedClasses);
-    logger.debug("[{}] Found {} @ModScoped classes to manage: {}", modId, instanceCreationQueue.size(), instanceCreationQueue);
+  /**
+   * Checks the dependencies between beans of different scopes. Cycles that pass through a non-singleton class can
+   * never be resolved, because creating it would create new instances endlessly: unlike singletons, a non-singleton
+   * is not registered before its fields are injected. The cycle graph therefore contains the constructor parameters
+   * of every bean, singletons included, and the fields of all non-singletons. Singletons must not depend on
+   * {@link Scope#THREAD} beans directly, because they would keep the instance of the thread that created them and
+   * share it with all other threads.
+   *
+   * @throws CircularDependencyException If a cycle passes through a non-singleton class.
+   * @throws ScopeMismatchException If a singleton depends on a thread-scoped bean without a {@link BeanProvider}.
+   */
+  private void validateScopes() {
+    var scopedClasses = managedClasses.stream()
+      .filter(managedClass -> !isSingleton(managedClass))
+      .filter(managedClass -> !managedClass.isInterface() && !Modifier.isAbstract(managedClass.getModifiers()))
+      .toList();
+    if (scopedClasses.isEmpty()) {
+      return;
+    }
+
+    for (var managedClass : managedClasses) {
+      if (isSingleton(managedClass) && !managedClass.isInterface() && !Modifier.isAbstract(managedClass.getModifiers())) {
+        validateSingletonDependencies(managedClass);
+      }
+    }
+
+    DependencyGraph.build(
+      scopedClasses,
+      dependency -> dependency.provider() ? List.of() : findCandidateClasses(dependency),
+      managedClass -> !isSingleton(managedClass) || isUncreatedBean(managedClass),
+      this::isSingleton
+    ).validate();
+  }
 
+  /**
+   * Checks that a singleton does not inject a {@link Scope#THREAD} bean, either directly or as part of a
+   * {@link BeanList}. Classes with invalid metadata are skipped, so their error is reported when they are created.
+   *
+   * @param singletonClass The concrete singleton class to check.
+   * @throws ScopeMismatchException If the singleton injects a thread-scoped bean without a {@link BeanProvider}.
+   */
+  private void validateSingletonDependencies(@NotNull Class<?> singletonClass) {
+    var dependencies = new ArrayList<BeanMetadata.Dependency>();
     try {
-      while (!instanceCreationQueue.isEmpty()) {
-        var modScopedClass = instanceCreationQueue.poll();
+      var beanMetadata = BeanMetadata.of(singletonClass);
+      dependencies.addAll(beanMetadata.getConstructorInjection().dependencies());
+      beanMetadata.getFieldInjections().forEach(fieldInjection -> dependencies.add(fieldInjection.dependency()));
+    } catch (ModInjectorException exception) {
+      return;
+    }
+
+    for (var dependency : dependencies) {
+      if (dependency.provider()) {
+        continue;
+      }
+      for (var candidate : findCandidateClasses(dependency)) {
+        if (getScope(candidate) == Scope.THREAD) {
+          throw new ScopeMismatchException(String.format("The singleton '%s' injects the thread-scoped bean '%s', so all threads would share the instance of the thread that created the singleton. Inject a BeanProvider<%s> instead and call get() on the thread that uses the bean.", singletonClass.getName(), candidate.getName(), dependency.type().getSimpleName()));
+        }
+      }
+    }
+  }
+
+  /**
+   * Creates all beans of a dependency graph on the calling thread, one strongly connected component after another.
+   *
+   * @param dependencyGraph The validated dependency graph.
+   * @return The created beans, keyed by their class.
+   */
+  private @NotNull Map<Class<?>, Object> createInstances(@NotNull DependencyGraph dependencyGraph) {
+    var createdBeans = new HashMap<Class<?>, Object>();
+    for (var component : dependencyGraph.getComponents()) {
+      try {
+        createComponent(component, createdBeans, 0);
+      } catch (Exception exception) {
+        instanceCreationQueue.clear();
+        logger.error("[{}] Failed to pre-instantiate or register class {} for DI.", modId, component.beans().getFirst().getName(), exception);
+        throw exception;
+      }
+    }
+    return createdBeans;
+  }
+
+  /**
+   * Creates all beans of a dependency graph on the given executor. Each strongly connected component is submitted
+   * as soon as all components it depends on have been created.
+   * <p>
+   * If several components fail, the error of the component that comes first in creation order is thrown,
+   * which is the same error a sequential initialization would report.
+   *
+   * @param dependencyGraph The validated dependency graph.
+   * @param executor The executor to create the beans on.
+   */
+  private void createInstancesInParallel(@NotNull DependencyGraph dependencyGraph, @NotNull Executor executor) {
+    var components = dependencyGraph.getComponents();
+    var createdBeans = new ConcurrentHashMap<Class<?>, Object>();
+    var futures = new ArrayList<CompletableFuture<Void>>(components.size());
+    var failures = new RuntimeException[components.size()];
+    var creationStart = System.nanoTime();
+    var componentEnds = new long[components.size()];
+
+    for (var component : components) {
+      var dependencyFutures = dependencyGraph.getDependencies(component).stream()
+        .map(dependency -> futures.get(dependency.index()))
+        .toArray(CompletableFuture<?>[]::new);
+      futures.add(CompletableFuture.allOf(dependencyFutures).thenRunAsync(() -> {
         try {
-          getInstanceOf(modScopedClass, null);
-        } catch (Exception exception) {
-          instanceCreationQueue.clear();
-          logger.error("[{}] Failed to pre-instantiate or register class {} for DI.", modId, modScopedClass.getName(), exception);
+          createComponent(component, createdBeans, getDependencyWait(dependencyGraph, component, creationStart, componentEnds));
+          componentEnds[component.index()] = System.nanoTime();
+        } catch (RuntimeException exception) {
+          failures[component.index()] = exception;
           throw exception;
         }
+      }, executor));
+    }
+
+    try {
+      CompletableFuture.allOf(futures.toArray(CompletableFuture<?>[]::new)).join();
+    } catch (CompletionException ignored) {
+      // The failures are collected per component and reported in a deterministic order below.
+    }
+
+    for (var component : components) {
+      var failure = failures[component.index()];
+      if (failure != null) {
+        instanceCreationQueue.clear();
+        logger.error("[{}] Failed to pre-instantiate or register class {} for DI.", modId, component.beans().getFirst().getName(), failure);
+        throw failure;
       }
+    }
+  }
 
-      injectFields(mainInstance);
-      invokePostConstructMethod(mainInstance);
-      this.status = ContainerStatus.RUNNING;
-      logger.info("[{}] ModInjector initialized successfully.", modId);
-    } catch (IllegalAccessException exception) {
-      this.status = ContainerStatus.FAILED;
-      throw new ModInjectorException(String.format("Failed to inject fields for main class '%s'. Ensure that all fields annotated with @ModInject are accessible (e.g., not 'final').", mainClass.getName()), exception);
-    } catch (Exception exception) {
-      this.status = ContainerStatus.FAILED;
-      throw exception;
+  /**
+   * Creates the beans of a strongly connected component. All beans are constructed and registered first,
+   * then their fields are injected, and finally their {@link PostConstruct} methods are invoked.
+   * For a component with a single bean, this is the regular creation of that bean.
+   *
+   * @param component The component to create.
+   * @param createdBeans The map to add the created beans to.
+   * @param dependencyWait The nanoseconds a parallel creation waited from its start until all components this component depends on had been created, or 0 if the creation is sequential.
+   * @throws InstanceCreationException If instantiation fails for any reason.
+   */
+  private void createComponent(@NotNull DependencyGraph.Component component, @NotNull Map<Class<?>, Object> createdBeans, long dependencyWait) {
+    var beans = component.beans();
+    var recorder = this.startupRecorder;
+    var constructedBeans = new ArrayList<ConstructedBean<?>>(beans.size());
+    var timestamps = new long[beans.size()][6];
+    var nestedCreationNanos = new long[beans.size()];
+    for (var i = 0; i < beans.size(); i++) {
+      var recordedNanos = recorder != null ? recorder.getRecordedNanos() : 0;
+      timestamps[i][0] = System.nanoTime();
+      constructedBeans.add(constructInstance(beans.get(i)));
+      timestamps[i][1] = System.nanoTime();
+      nestedCreationNanos[i] += recorder != null ? recorder.getRecordedNanos() - recordedNanos : 0;
+    }
+    for (var i = 0; i < beans.size(); i++) {
+      var recordedNanos = recorder != null ? recorder.getRecordedNanos() : 0;
+      timestamps[i][2] = System.nanoTime();
+      injectFields(constructedBeans.get(i));
+      timestamps[i][3] = System.nanoTime();
+      nestedCreationNanos[i] += recorder != null ? recorder.getRecordedNanos() - recordedNanos : 0;
+    }
+    for (var i = 0; i < beans.size(); i++) {
+      var recordedNanos = recorder != null ? recorder.getRecordedNanos() : 0;
+      timestamps[i][4] = System.nanoTime();
+      invokePostConstruct(constructedBeans.get(i));
+      timestamps[i][5] = System.nanoTime();
+      nestedCreationNanos[i] += recorder != null ? recorder.getRecordedNanos() - recordedNanos : 0;
+      createdBeans.put(constructedBeans.get(i).instance().getClass(), constructedBeans.get(i).instance());
+    }
+
+    if (recorder != null) {
+      for (var i = 0; i < beans.size(); i++) {
+        recorder.recordBean(beans.get(i), dependencyWait, timestamps[i], nestedCreationNanos[i]);
+      }
+    }
+  }
+
+  /**
+   * Gets the time a component had to wait for the components it depends on. Only computed while the
+   * initialization is recorded.
+   *
+   * @param dependencyGraph The dependency graph of the component.
+   * @param component The component.
+   * @param creationStart The start of the creation of the graph.
+   * @param componentEnds The end of the creation of each finished component, indexed by component.
+   * @return The nanoseconds from the creation start until the last dependency had been created.
+   */
+  private long getDependencyWait(@NotNull DependencyGraph dependencyGraph, @NotNull DependencyGraph.Component component, long creationStart, @NotNull long[] componentEnds) {
+    if (this.startupRecorder == null) {
+      return 0;
+    }
+
+    var dependenciesReady = creationStart;
+    for (var dependency : dependencyGraph.getDependencies(component)) {
+      dependenciesReady = Math.max(dependenciesReady, componentEnds[dependency.index()]);
+    }
+    return dependenciesReady - creationStart;
+  }
+
+  /**
+   * Finds the managed classes that can satisfy a dependency, using the same rules as the lookup.
+   * Used to build the dependency graph; ambiguous or unresolvable dependencies have no candidates,
+   * so their error is reported when the dependent bean is created.
+   *
+   * @param dependency The dependency of a constructor parameter or field.
+   * @return The concrete managed classes the dependency resolves to.
+   */
+  private @NotNull List<Class<?>> findCandidateClasses(@NotNull BeanMetadata.Dependency dependency) {
+    var type = dependency.type();
+    if (!dependency.beanList() && !type.isInterface() && !Modifier.isAbstract(type.getModifiers())) {
+      return List.of(type);
+    }
+
+    var candidates = managedClassesByType.get(type).stream()
+      .filter(managedClass -> !managedClass.isInterface() && !Modifier.isAbstract(managedClass.getModifiers()))
+      .filter(managedClass -> dependency.beanList() || dependency.identifier() == null || dependency.identifier().equals(managedIdentifiers.get(managedClass)))
+      .toList();
+    return dependency.beanList() || candidates.size() == 1 ? candidates : List.of();
+  }
+
+  /**
+   * Checks if a managed type must not be resolved eagerly, because it is {@link Lazy} or not a {@link Scope#SINGLETON}
+   * itself or, for abstract types, because one of its implementations is.
+   *
+   * @param managedClass The managed class to check.
+   * @return True if the type is only resolved on demand.
+   */
+  private boolean isLazyType(@NotNull Class<?> managedClass) {
+    if (!managedClass.isInterface() && !Modifier.isAbstract(managedClass.getModifiers())) {
+      return managedClass.isAnnotationPresent(Lazy.class) || !isSingleton(managedClass);
+    }
+    return managedClassesByType.get(managedClass).stream().anyMatch(implementation -> implementation.isAnnotationPresent(Lazy.class) || !isSingleton(implementation));
+  }
+
+  /**
+   * Gets the scope of a class, as declared by its {@link ModScoped} annotation.
+   *
+   * @param beanClass The class to check.
+   * @return The scope, or {@link Scope#SINGLETON} for classes that are not annotated.
+   */
+  private @NotNull Scope getScope(@NotNull Class<?> beanClass) {
+    var modScoped = beanClass.getAnnotation(ModScoped.class);
+    return modScoped != null ? modScoped.scope() : Scope.SINGLETON;
+  }
+
+  /**
+   * Checks if a class is a singleton, i.e. its instance is created once and registered in the container.
+   *
+   * @param beanClass The class to check.
+   * @return True if the class has the {@link Scope#SINGLETON} scope.
+   */
+  private boolean isSingleton(@NotNull Class<?> beanClass) {
+    return getScope(beanClass) == Scope.SINGLETON;
+  }
+
+  /**
+   * Checks if an injection point receives a deferred handle instead of the bean itself. This is the case if it
+   * requests an interface that resolves to a single {@link Lazy} bean which has not been created yet.
+   *
+   * @param dependency The dependency of a constructor parameter or field.
+   * @return True if a {@link LazyBeanHandle} is injected.
+   */
+  private boolean isDeferred(@NotNull BeanMetadata.Dependency dependency) {
+    if (dependency.beanList() || !dependency.type().isInterface()) {
+      return false;
+    }
+
+    var candidates = findCandidateClasses(dependency);
+    return candidates.size() == 1
+      && candidates.getFirst().isAnnotationPresent(Lazy.class)
+      && isUncreatedBean(candidates.getFirst());
+  }
+
+  /**
+   * Checks if a class is a concrete singleton bean class that would be created by a lookup, because it is annotated
+   * with {@link ModScoped} or {@link ModMain} and no instance of it has been registered yet.
+   *
+   * @param beanClass The class to check.
+   * @return True if the class has to be created.
+   */
+  private boolean isUncreatedBean(@NotNull Class<?> beanClass) {
+    if (beanClass.isInterface() || Modifier.isAbstract(beanClass.getModifiers())) {
+      return false;
+    }
+    if (!beanClass.isAnnotationPresent(ModScoped.class) && !beanClass.isAnnotationPresent(ModMain.class)) {
+      return false;
+    }
+    if (!isSingleton(beanClass)) {
+      return false;
+    }
+    return beanRegistry.findInstances(beanClass).isEmpty();
+  }
+
+  /**
+   * Populates the managed classes of this container. The compile-time index generated by the annotation
+   * processor is preferred; the classpath is only scanned if the mod has been compiled without it.
+   *
+   * @param mainClass The {@link ModMain} class of the mod.
+   * @param basePackage The root package to discover classes in.
+   */
+  private void discoverManagedClasses(@NotNull Class<?> mainClass, @NotNull String basePackage) {
+    var scanEvent = new ContainerEvents.ClasspathScan();
+    scanEvent.begin();
+
+    var scopedClassIndex = ScopedClassIndex.load(mainClass, basePackage);
+    if (scopedClassIndex != null) {
+      logger.info("[{}] Loading @ModScoped classes from the compile-time index for package: {}", modId, basePackage);
+      scopedClassIndex.getEntries().forEach((managedClass, entry) -> {
+        managedClasses.add(managedClass);
+        managedIdentifiers.put(managedClass, entry.identifier());
+        if (entry.factoryClassName() != null) beanFactoryNames.put(managedClass, entry.factoryClassName());
+      });
+    } else {
+      logger.info("[{}] Starting classpath scanning for package: {}", modId, basePackage);
+      for (var managedClass : ClasspathScanCache.getTypesAnnotatedWith(basePackage, ModScoped.class)) {
+        managedClasses.add(managedClass);
+        var identifier = managedClass.getAnnotation(ModIdentifier.class);
+        managedIdentifiers.put(managedClass, identifier != null ? identifier.value() : null);
+      }
+    }
+
+    scanEvent.end();
+    if (scanEvent.shouldCommit()) {
+      scanEvent.modId = modId;
+      scanEvent.basePackage = basePackage;
+      scanEvent.indexed = scopedClassIndex != null;
+      scanEvent.managedClassCount = managedClasses.size();
+      scanEvent.commit();
     }
   }
 
   /**
    * Retrieves a managed instance of the specified class. If an instance doesn't exist,
-   * it is created, registered, and returned. This method uses a double-checked locking
-   * pattern to ensure thread-safe lazy instantiation.
+   * it is created, registered, and returned. Once the container is running, every lookup
+   * is answered from the frozen {@link ResolvedBeanTable} after it has been resolved once.
    *
    * @param targetClass The class type of the instance to retrieve.
    * @param identifier The optional identifier to distinguish between multiple instances of the same type.
@@ -166,55 +749,226 @@ final class ModContainer {
    * @throws UnmanagedClassException If the injector does not manage the requested class.
    * @throws ModInjectorException If any error occurs during instance creation.
    */
+  @Override
   public <T> @NotNull T getInstanceOf(@NotNull Class<T> targetClass, @Nullable String identifier) {
-    if (this.status == ContainerStatus.FAILED) {
-      throw new ContainerNotInitializedException(String.format("The container for mod '%s' is in a FAILED state and cannot be used. Please check the logs for an earlier error that occurred during initialization.", modId));
+    var resolvedBeanTable = this.resolvedBeans;
+    if (resolvedBeanTable != null) {
+      var resolved = resolvedBeanTable.get(targetClass, identifier);
+      if (resolved instanceof ScopedBean scopedBean) {
+        return targetClass.cast(scopedBean.get());
+      }
+      metrics.recordRegistryHit();
+      return targetClass.cast(resolved);
+    }
+    return resolveInstance(targetClass, identifier);
+  }
+
+  /**
+   * Retrieves a managed instance for a lookup through {@link ModInjector} and records the lookup in the metrics.
+   * Dependencies are resolved through {@link #getInstanceOf(Class, String)} directly, so they are not counted.
+   *
+   * @param targetClass The class type of the instance to retrieve.
+   * @param identifier The optional identifier to distinguish between multiple instances of the same type.
+   * @param <T> The type of the class.
+   * @return The instance of the requested class.
+   */
+  <T> @NotNull T lookUpInstance(@NotNull Class<T> targetClass, @Nullable String identifier) {
+    metrics.recordLookup(targetClass);
+    return getInstanceOf(targetClass, identifier);
+  }
+
+  /**
+   * Resolves an entry of the {@link ResolvedBeanTable}: the {@link ScopedBean} for types that resolve to a
+   * non-singleton class, so that every lookup asks its scope for the instance, and the bean itself otherwise.
+   *
+   * @param targetClass The requested type.
+   * @param identifier The optional identifier.
+   * @return The {@link ScopedBean} or the singleton bean.
+   */
+  private @NotNull Object resolveTableEntry(@NotNull Class<?> targetClass, @Nullable String identifier) {
+    var scopedBean = findScopedBean(targetClass, identifier);
+    return scopedBean != null ? scopedBean : resolveInstance(targetClass, identifier);
+  }
+
+  /**
+   * Finds the {@link PrototypePlan} or {@link ThreadScope} of the non-singleton class the given type resolves to.
+   *
+   * @param targetClass The requested type.
+   * @param identifier The optional identifier.
+   * @return The scoped bean, or null if the type does not resolve to exactly one non-singleton class.
+   */
+  private @Nullable ScopedBean findScopedBean(@NotNull Class<?> targetClass, @Nullable String identifier) {
+    var candidates = findCandidateClasses(new BeanMetadata.Dependency(targetClass, identifier, false, false));
+    if (candidates.size() != 1) {
+      return null;
     }
+    return switch (getScope(candidates.getFirst())) {
+      case SINGLETON -> null;
+      case PROTOTYPE -> scopedBeans.computeIfAbsent(candidates.getFirst(), PrototypePlan::new);
+      case THREAD -> scopedBeans.computeIfAbsent(candidates.getFirst(), beanClass -> new ThreadScope<>(new PrototypePlan<>(beanClass)));
+    };
+  }
+
+  /**
+   * Creates a handle that resolves the bean of the given type once. For non-singleton beans, the handle keeps the
+   * {@link ScopedBean} instead, so every call still creates a new instance or returns the instance of the calling thread.
+   *
+   * @param targetClass The class type of the bean.
+   * @param identifier The optional identifier to distinguish between multiple instances of the same type.
+   * @param <T> The type of the class.
+   * @return The new handle.
+   * @throws ContainerNotInitializedException If the container is in a FAILED or CLOSED state.
+   * @throws ModInjectorException If the bean cannot be resolved.
+   */
+  public <T> @NotNull BeanHandle<T> createHandle(@NotNull Class<T> targetClass, @Nullable String identifier) {
+    checkUsable();
+
+    var scopedBean = findScopedBean(targetClass, identifier);
+    if (scopedBean != null) {
+      return new BeanHandle<>(this, null, () -> targetClass.cast(scopedBean.get()));
+    }
+    return new BeanHandle<>(this, getInstanceOf(targetClass, identifier), null);
+  }
+
+  /**
+   * Creates a bounded pool of instances of a {@link Scope#PROTOTYPE} class.
+   *
+   * @param targetClass The type to pool. Must resolve to exactly one prototype class.
+   * @param capacity The maximum number of idle instances.
+   * @param <T> The type of the pooled instances.
+   * @return A new, empty pool.
+   * @throws ContainerNotInitializedException If the container is in a FAILED state.
+   * @throws IllegalArgumentException If the capacity is not positive.
+   * @throws UnmanagedClassException If the type does not resolve to a prototype class.
+   */
+  public <T> @NotNull BeanPool<T> createPool(@NotNull Class<T> targetClass, int capacity) {
+    checkUsable();
+    if (capacity <= 0) {
+      throw new IllegalArgumentException(String.format("The capacity of a bean pool must be positive, but was %d.", capacity));
+    }
+
+    if (!(findScopedBean(targetClass, null) instanceof PrototypePlan<?> prototypePlan)) {
+      throw new UnmanagedClassException(String.format("Cannot create a pool for '%s', because it does not resolve to a single prototype bean. Annotate the class with @ModScoped(scope = Scope.PROTOTYPE).", targetClass.getName()));
+    }
+    return new BeanPool<>(() -> targetClass.cast(prototypePlan.newInstance()), capacity);
+  }
+
+  /**
+   * Looks up an instance in the registry and creates it if it doesn't exist yet.
+   * This method uses a double-checked locking pattern to ensure thread-safe lazy instantiation.
+   *
+   * @param targetClass The class type of the instance to retrieve.
+   * @param identifier The optional identifier to distinguish between multiple instances of the same type.
+   * @param <T> The type of the class.
+   * @return The singleton instance of the requested class.
+   */
+  private <T> @NotNull T resolveInstance(@NotNull Class<T> targetClass, @Nullable String identifier) {
+    checkUsable();
 
     logger.debug("[{}] Request for instance of type [{}] with identifier [{}].", modId, targetClass.getName(), identifier);
 
+    var scopedBean = findScopedBean(targetClass, identifier);
+    if (scopedBean != null) {
+      return targetClass.cast(scopedBean.get());
+    }
+
     var instance = beanRegistry.findInstance(targetClass, identifier);
     if (instance == null) {
+      metrics.recordRegistryMiss();
       // Double-checked locking for thread-safe lazy instantiation.
+      var lockWaitEvent = new ContainerEvents.LockWait();
+      lockWaitEvent.begin();
+      var lockWaitStart = System.nanoTime();
       synchronized (this) {
+        metrics.recordLockWait(System.nanoTime() - lockWaitStart);
+        commitLockWait(lockWaitEvent);
         instance = beanRegistry.findInstance(targetClass, identifier);
         if (instance == null) {
           logger.debug("[{}] Cache miss for [{}]. Proceeding to create new instance.", modId, targetClass.getName());
 
-          var isAbstractType = Modifier.isAbstract(targetClass.getModifiers());
-          if (isAbstractType) {
-            var concreteClass = findConcreteClassFor(targetClass, identifier);
-            return targetClass.cast(getInstanceOf(concreteClass, identifier));
-          }
+          var lookupMissEvent = new ContainerEvents.LookupMiss();
+          lookupMissEvent.begin();
+          try {
+            var isAbstractType = Modifier.isAbstract(targetClass.getModifiers());
+            if (isAbstractType) {
+              var concreteClass = findConcreteClassFor(targetClass, identifier);
+              return targetClass.cast(getInstanceOf(concreteClass, identifier));
+            }
 
-          if (targetClass.isAnnotationPresent(ModScoped.class) || targetClass.isAnnotationPresent(ModMain.class)) {
-            return targetClass.cast(createInstance(targetClass));
-          }
+            if (targetClass.isAnnotationPresent(ModScoped.class) || targetClass.isAnnotationPresent(ModMain.class)) {
+              return targetClass.cast(createInstance(targetClass));
+            }
 
-          throw new UnmanagedClassException(String.format("The class '%s' cannot be provided because it is not managed by the container. To fix this, annotate the class with @ModScoped.", targetClass.getName()));
+            throw new UnmanagedClassException(String.format("The class '%s' cannot be provided because it is not managed by the container. To fix this, annotate the class with @ModScoped.", targetClass.getName()));
+          } finally {
+            lookupMissEvent.end();
+            if (lookupMissEvent.shouldCommit()) {
+              lookupMissEvent.modId = modId;
+              lookupMissEvent.requestedClass = targetClass;
+              lookupMissEvent.identifier = identifier;
+              lookupMissEvent.commit();
+            }
+          }
         } else {
           logger.debug("[{}] Cache hit for [{}] after acquiring lock.", modId, targetClass.getName());
+          recordRegistryHit();
         }
       }
     } else {
       logger.debug("[{}] Cache hit for [{}]. Returning existing instance.", modId, targetClass.getName());
+      recordRegistryHit();
     }
 
     return targetClass.cast(instance);
   }
 
+  /**
+   * Records a registry hit, unless the container is running. Then the lookup is resolving an entry of the
+   * {@link ResolvedBeanTable}, which records the hit itself when it returns the bean.
+   */
+  private void recordRegistryHit() {
+    if (resolvedBeans == null) {
+      metrics.recordRegistryHit();
+    }
+  }
+
+  /**
+   * Checks that the container can still provide beans.
+   *
+   * @throws ContainerNotInitializedException If the container is in a FAILED or CLOSED state.
+   */
+  void checkUsable() {
+    var currentStatus = this.status;
+    if (currentStatus == ContainerStatus.FAILED) {
+      throw new ContainerNotInitializedException(String.format("The container for mod '%s' is in a FAILED state and cannot be used. Please check the logs for an earlier error that occurred during initialization.", modId));
+    }
+    if (currentStatus == ContainerStatus.CLOSED) {
+      throw new ContainerNotInitializedException(String.format("The container for mod '%s' has been closed and cannot be used anymore. Call ModInjector.initialize() again to create a new container.", modId));
+    }
+  }
+
+  /**
+   * Commits a lock wait event once the monitor of this container has been acquired.
+   *
+   * @param lockWaitEvent The event that was started before entering the monitor.
+   */
+  private void commitLockWait(@NotNull ContainerEvents.LockWait lockWaitEvent) {
+    lockWaitEvent.end();
+    if (lockWaitEvent.shouldCommit()) {
+      lockWaitEvent.modId = modId;
+      lockWaitEvent.commit();
+    }
+  }
+
   private <T> @NotNull Class<?> findConcreteClassFor(@NotNull Class<T> targetClass, @Nullable String identifier) {
     if (!Modifier.isAbstract(targetClass.getModifiers()) && targetClass.isAnnotationPresent(ModScoped.class)) {
       return targetClass;
     }
 
-    var implementations = managedClasses.stream()
-      .filter(targetClass::isAssignableFrom)
+    var implementations = managedClassesByType.get(targetClass).stream()
       .filter(clazz -> !clazz.isInterface())
-      .filter(clazz -> {
-        if (identifier == null) return true;
-        return clazz.isAnnotationPresent(ModIdentifier.class) && identifier.equals(clazz.getAnnotation(ModIdentifier.class).value());
-      }).toList();
+      .filter(clazz -> identifier == null || identifier.equals(managedIdentifiers.get(clazz)))
+      .toList();
 
     if (implementations.isEmpty()) {
       throw new InstanceCreationException(String.format("Dependency resolution failed: Could not find a suitable implementation for '%s'. Ensure a class implements this interface, is annotated with @ModScoped, and has the correct @ModIdentifier ('%s') if used.", targetClass.getName(), identifier));
@@ -229,22 +983,38 @@ final class ModContainer {
 
   /**
    * Retrieves all managed instances that are assignable to the specified class or interface.
+   * Once the container is running, the list of each type is resolved once and then shared by all callers, unless
+   * it contains non-singleton beans, which are looked up again on every call.
    *
    * @param targetClass The class or interface type to match against.
    * @param <T> The type of the class.
    * @return A {@link BeanList} containing all matching managed instances.
    * @throws ContainerNotInitializedException If the container is in a FAILED state.
    */
+  @Override
+  @SuppressWarnings("unchecked")
   public <T> @NotNull BeanList<T> getInstancesOf(@NotNull Class<T> targetClass) {
-    if (this.status == ContainerStatus.FAILED) {
-      throw new ContainerNotInitializedException(String.format("The container for mod '%s' is in a FAILED state and cannot be used. Please check the logs for an earlier error that occurred during initialization.", modId));
+    var resolvedBeanTable = this.resolvedBeans;
+    if (resolvedBeanTable != null && !scopedLists.get(targetClass)) {
+      return (BeanList<T>) resolvedBeanTable.getAll(targetClass);
     }
+    return resolveInstances(targetClass);
+  }
+
+  /**
+   * Collects all managed instances that are assignable to the specified class or interface, creating them if required.
+   *
+   * @param targetClass The class or interface type to match against.
+   * @param <T> The type of the class.
+   * @return A new {@link BeanList} containing all matching managed instances.
+   */
+  private <T> @NotNull BeanList<T> resolveInstances(@NotNull Class<T> targetClass) {
+    checkUsable();
 
     logger.debug("[{}] Request for all instances of type [{}].", modId, targetClass.getName());
 
-    var candidates = managedClasses.stream()
+    var candidates = managedClassesByType.get(targetClass).stream()
       .filter(managedClass -> !managedClass.isInterface() && !Modifier.isAbstract(managedClass.getModifiers()))
-      .filter(targetClass::isAssignableFrom)
       .toList();
 
     var instances = candidates.stream()
@@ -259,9 +1029,25 @@ final class ModContainer {
   }
 
   /**
-   * Creates a new instance of the given class, resolving and injecting all its dependencies.
-   * This method handles constructor injection, field injection, and PostConstruct method invocation.
-   * It also tracks the dependency path to detect circular dependencies.
+   * Creates a {@link BeanProvider} that retrieves the specified managed instance on its first use, or on every use if
+   * the instance is not a singleton.
+   * The dependency is not part of the dependency graph, so it does not constrain the creation order.
+   *
+   * @param targetClass The class type of the instance to provide.
+   * @param identifier The optional identifier to distinguish between multiple instances of the same type.
+   * @param <T> The type of the class.
+   * @return A provider of the requested instance.
+   */
+  @Override
+  public <T> @NotNull BeanProvider<T> getProviderOf(@NotNull Class<T> targetClass, @Nullable String identifier) {
+    var cached = findScopedBean(targetClass, identifier) == null;
+    return new BeanProvider<>(() -> getInstanceOf(targetClass, identifier), cached);
+  }
+
+  /**
+   * Creates a new instance of the given class after the container has been initialized, together with all beans
+   * it transitively depends on that do not exist yet. The beans are planned like during initialization, so
+   * circular dependencies are detected before any of them is created.
    *
    * @param targetClass The class to instantiate.
    * @param <T> The type of the class.
@@ -270,107 +1056,281 @@ final class ModContainer {
    * @throws InstanceCreationException If instantiation fails for any reason.
    */
   private <T> @NotNull T createInstance(@NotNull Class<T> targetClass) {
-    if (dependencyStack.get().contains(targetClass)) {
-      var path = new ArrayList<>(dependencyStack.get());
-      path.add(targetClass);
-      throw new CircularDependencyException(path);
+    var createdBeans = createInstances(planInstances(List.of(targetClass)));
+    if (status == ContainerStatus.RUNNING) {
+      metrics.recordLazyCreations(createdBeans.size());
     }
+    return targetClass.cast(createdBeans.get(targetClass));
+  }
 
+  /**
+   * Constructs and registers a new instance of the given class, using its generated {@link BeanFactory} if available.
+   * The fields of the instance are not injected yet.
+   *
+   * @param targetClass The class to instantiate.
+   * @param <T> The type of the class.
+   * @return The constructed instance.
+   * @throws InstanceCreationException If instantiation fails for any reason.
+   */
+  private <T> @NotNull ConstructedBean<T> constructInstance(@NotNull Class<T> targetClass) {
+    var instantiationEvent = new ContainerEvents.BeanInstantiation();
+    instantiationEvent.begin();
     try {
-      dependencyStack.get().add(targetClass);
       logger.debug("[{}] Creating new instance of [{}].", modId, targetClass.getName());
 
-      var injectableConstructor = findInjectableConstructor(targetClass);
-      logger.debug("[{}] Using constructor [{}] for class [{}].", modId, injectableConstructor, targetClass.getName());
-
-      var args = resolveConstructorArguments(injectableConstructor);
-      var newInstance = targetClass.cast(injectableConstructor.newInstance(args));
-      logger.debug("[{}] Successfully instantiated [{}]. Proceeding with field injection.", modId, targetClass.getName());
+      T newInstance;
+      var beanFactory = loadBeanFactory(targetClass);
+      enterConstruction(targetClass);
+      try {
+        if (beanFactory != null) {
+          logger.debug("[{}] Using generated factory [{}] for class [{}].", modId, beanFactory.getClass().getName(), targetClass.getName());
+          newInstance = targetClass.cast(beanFactory.newInstance(injectionResolver));
+        } else {
+          var constructorInjection = BeanMetadata.of(targetClass).getConstructorInjection();
+          logger.debug("[{}] Using constructor [{}] for class [{}].", modId, constructorInjection.constructor(), targetClass.getName());
+          var args = resolveConstructorArguments(constructorInjection);
+          newInstance = targetClass.cast(constructorInjection.newInstance(args));
+        }
+      } finally {
+        exitConstruction();
+      }
 
       logger.debug("[{}] Registering new instance of [{}] under its concrete class.", modId, newInstance.getClass().getName());
-      beanRegistry.registerInstance(newInstance.getClass(), newInstance, null);
+      beanRegistry.registerInstance(newInstance.getClass(), newInstance, getIdentifier(newInstance.getClass()));
+      metrics.recordBean();
 
-      injectFields(newInstance);
-      invokePostConstructMethod(newInstance);
-
-      return newInstance;
+      instantiationEvent.end();
+      if (instantiationEvent.shouldCommit()) {
+        instantiationEvent.modId = modId;
+        instantiationEvent.beanClass = targetClass;
+        instantiationEvent.generatedFactory = beanFactory != null;
+        instantiationEvent.commit();
+      }
+      return new ConstructedBean<>(newInstance, beanFactory);
     } catch (Exception exception) {
-      if (exception instanceof ModInjectorException modInjectorException) {
-        throw modInjectorException;
+      throw toInstanceCreationException(targetClass, exception);
+    }
+  }
+
+  /**
+   * Marks the construction of a bean on the current thread. A singleton is registered once its constructor has
+   * returned, so a second construction of the same class further up the stack can only be a circular dependency.
+   *
+   * @param beanClass The class that is about to be constructed.
+   * @throws CircularDependencyException If the class is already being constructed on the current thread.
+   */
+  private void enterConstruction(@NotNull Class<?> beanClass) {
+    var stack = constructionStack.get();
+    if (stack == null) {
+      stack = new ArrayList<>();
+      constructionStack.set(stack);
+    }
+
+    var index = stack.indexOf(beanClass);
+    if (index >= 0) {
+      var cycle = new ArrayList<>(stack.subList(index, stack.size()));
+      cycle.add(beanClass);
+      throw new CircularDependencyException(cycle);
+    }
+    stack.add(beanClass);
+  }
+
+  /**
+   * Ends the construction started by the last call of {@link #enterConstruction(Class)} on the current thread.
+   * The stack is removed once it is empty, so idle threads do not keep an entry of this container.
+   */
+  private void exitConstruction() {
+    var stack = constructionStack.get();
+    stack.removeLast();
+    if (stack.isEmpty()) {
+      constructionStack.remove();
+    }
+  }
+
+  /**
+   * Injects the fields of the externally created {@link ModMain} instance and invokes its {@link PostConstruct} method.
+   *
+   * @param mainInstance The main instance of the mod.
+   * @param <T> The type of the main class.
+   */
+  @SuppressWarnings("unchecked")
+  private <T> void injectMainInstance(@NotNull T mainInstance) {
+    var constructedBean = new ConstructedBean<>(mainInstance, loadBeanFactory((Class<T>) mainInstance.getClass()));
+    injectFields(constructedBean);
+    invokePostConstruct(constructedBean);
+  }
+
+  /**
+   * Injects the fields of a constructed bean, using its generated factory if it can access all fields.
+   *
+   * @param constructedBean The constructed bean.
+   * @param <T> The type of the bean.
+   * @throws InstanceCreationException If a field cannot be injected.
+   */
+  private <T> void injectFields(@NotNull ConstructedBean<T> constructedBean) {
+    var instance = constructedBean.instance();
+    var beanFactory = constructedBean.beanFactory();
+    try {
+      if (beanFactory == null || !beanFactory.injectFields(instance, injectionResolver)) {
+        injectFields(instance);
       }
+    } catch (Exception exception) {
+      throw toInstanceCreationException(instance.getClass(), exception);
+    }
+  }
 
-      logger.error("[{}] Failed to create an instance of class [{}].", modId, targetClass.getName(), exception);
-      throw new InstanceCreationException(String.format("An unexpected error occurred while creating an instance of '%s'. Check the class's constructor and initialization logic for errors.", targetClass.getName()), exception);
-    } finally {
-      // Clean up the dependency stack for the current thread.
-      if (!dependencyStack.get().isEmpty()) {
-        dependencyStack.get().removeLast();
+  /**
+   * Invokes the {@link PostConstruct} method of a bean whose fields have been injected, using its generated factory
+   * if it can access the method.
+   *
+   * @param constructedBean The constructed bean.
+   * @param <T> The type of the bean.
+   * @throws InstanceCreationException If the method cannot be invoked or fails.
+   */
+  private <T> void invokePostConstruct(@NotNull ConstructedBean<T> constructedBean) {
+    var instance = constructedBean.instance();
+    var beanFactory = constructedBean.beanFactory();
+    var postConstructEvent = new ContainerEvents.PostConstruct();
+    postConstructEvent.begin();
+
+    boolean postConstructInvoked = false;
+    if (beanFactory != null) {
+      try {
+        postConstructInvoked = beanFactory.invokePostConstruct(instance);
+      } catch (Exception exception) {
+        throw new InstanceCreationException(String.format("Failed to invoke the @PostConstruct method of '%s'. Please check the code inside this method for errors.", instance.getClass().getName()), exception);
       }
     }
+    if (!postConstructInvoked) {
+      invokePostConstructMethod(instance);
+    }
+
+    postConstructEvent.end();
+    if (postConstructEvent.shouldCommit() && BeanMetadata.of(instance.getClass()).getPostConstructMethod() != null) {
+      postConstructEvent.modId = modId;
+      postConstructEvent.beanClass = instance.getClass();
+      postConstructEvent.commit();
+    }
+  }
+
+  /**
+   * Passes framework exceptions through and wraps all other exceptions of a bean's creation.
+   */
+  private @NotNull ModInjectorException toInstanceCreationException(@NotNull Class<?> targetClass, @NotNull Exception exception) {
+    if (exception instanceof ModInjectorException modInjectorException) {
+      return modInjectorException;
+    }
+
+    logger.error("[{}] Failed to create an instance of class [{}].", modId, targetClass.getName(), exception);
+    return new InstanceCreationException(String.format("An unexpected error occurred while creating an instance of '%s'. Check the class's constructor and initialization logic for errors.", targetClass.getName()), exception);
+  }
+
+  /**
+   * Loads and instantiates the generated {@link BeanFactory} of a class, if the compile-time index lists one.
+   *
+   * @param targetClass The class to find the factory for.
+   * @param <T> The type of the class.
+   * @return The factory, or null if the class must be instantiated reflectively.
+   * @throws InstanceCreationException If the listed factory cannot be loaded.
+   */
+  @SuppressWarnings("unchecked")
+  private <T> @Nullable BeanFactory<T> loadBeanFactory(@NotNull Class<T> targetClass) {
+    var factoryClassName = beanFactoryNames.get(targetClass);
+    if (factoryClassName == null) {
+      return null;
+    }
+
+    try {
+      var factoryClass = Class.forName(factoryClassName, true, targetClass.getClassLoader());
+      return (BeanFactory<T>) factoryClass.getConstructor().newInstance();
+    } catch (ReflectiveOperationException | LinkageError exception) {
+      throw new InstanceCreationException(String.format("The generated factory '%s' for class '%s' could not be loaded. The compile-time index is probably outdated; try rebuilding the mod.", factoryClassName, targetClass.getName()), exception);
+    }
+  }
+
+  /**
+   * Gets the identifier a bean of the given class is registered under. Managed classes use the identifier
+   * discovered together with them; other classes fall back to their cached {@link BeanMetadata}.
+   *
+   * @param targetClass The concrete class of the bean.
+   * @return The identifier, or null if the class does not declare one.
+   */
+  private @Nullable String getIdentifier(@NotNull Class<?> targetClass) {
+    var identifier = managedIdentifiers.get(targetClass);
+    if (identifier != null || managedIdentifiers.containsKey(targetClass)) {
+      return identifier;
+    }
+    return BeanMetadata.of(targetClass).getIdentifier();
+  }
+
+  /**
+   * Resolves a single dependency of a constructor parameter or field from the container.
+   *
+   * @param dependency The dependency to resolve.
+   * @return The resolved bean or {@link BeanList}.
+   */
+  private @NotNull Object resolveDependency(@NotNull BeanMetadata.Dependency dependency) {
+    if (dependency.beanList()) {
+      return getInstancesOf(dependency.type());
+    }
+    if (dependency.provider()) {
+      return getProviderOf(dependency.type(), dependency.identifier());
+    }
+    return resolveInjection(dependency.type(), dependency.identifier());
+  }
+
+  /**
+   * Resolves a single bean for an injection point. Interfaces that resolve to a {@link Lazy} bean which has
+   * not been created yet are satisfied with a deferred handle, so the lazy bean is only created when it is used.
+   *
+   * @param targetClass The type of the injection point.
+   * @param identifier The {@link ModIdentifier} of the injection point, or null.
+   * @param <T> The type of the injection point.
+   * @return The bean or a deferred handle to it.
+   */
+  private <T> @NotNull T resolveInjection(@NotNull Class<T> targetClass, @Nullable String identifier) {
+    if (isDeferred(new BeanMetadata.Dependency(targetClass, identifier, false, false))) {
+      logger.debug("[{}] Injecting a deferred handle for the lazy bean of type [{}].", modId, targetClass.getName());
+      return LazyBeanHandle.create(this, targetClass, identifier);
+    }
+    return getInstanceOf(targetClass, identifier);
   }
 
   /**
    * Resolves the arguments for a given constructor by retrieving required dependencies from the container.
    *
-   * @param constructor The constructor for which to resolve arguments.
+   * @param constructorInjection The constructor for which to resolve arguments.
    * @return An array of objects representing the resolved constructor arguments.
    */
-  private @NotNull Object[] resolveConstructorArguments(@NotNull Constructor<?> constructor) {
-    var parameters = constructor.getParameters();
-    var args = new Object[parameters.length];
-    for (int i = 0; i < parameters.length; i++) {
-      var parameter = parameters[i];
-      var paramType = parameter.getType();
-      // Handle injection of a list of beans.
-      if (BeanList.class.isAssignableFrom(paramType) && parameter.getParameterizedType() instanceof ParameterizedType parameterizedType) {
-        var listType = (Class<?>) parameterizedType.getActualTypeArguments()[0];
-        logger.debug("[{}] Resolving list dependency of type List<{}> for constructor.", modId, listType.getName());
-        args[i] = getInstancesOf(listType);
-      } else {
-        // Handle injection of a single bean.
-        var identifier = parameter.isAnnotationPresent(ModIdentifier.class)
-          ? parameter.getAnnotation(ModIdentifier.class).value()
-          : null;
-        logger.debug("[{}] Resolving constructor dependency of type [{}] with identifier [{}] for [{}].", modId, paramType.getName(), identifier, constructor.getDeclaringClass().getName());
-        args[i] = getInstanceOf(paramType, identifier);
-      }
+  private @NotNull Object[] resolveConstructorArguments(@NotNull BeanMetadata.ConstructorInjection constructorInjection) {
+    var dependencies = constructorInjection.dependencies();
+    var args = new Object[dependencies.size()];
+    for (int i = 0; i < dependencies.size(); i++) {
+      var dependency = dependencies.get(i);
+      logger.debug("[{}] Resolving constructor dependency of type [{}] with identifier [{}] for [{}].", modId, dependency.type().getName(), dependency.identifier(), constructorInjection.constructor().getDeclaringClass().getName());
+      args[i] = resolveDependency(dependency);
     }
     return args;
   }
 
   /**
-   * Performs field injection on a given instance. It scans for fields annotated with {@link ModInject}
-   * and injects the corresponding dependencies.
+   * Performs field injection on a given instance. It injects the corresponding dependencies into all fields
+   * annotated with {@link ModInject} in the class hierarchy of the instance.
    *
    * @param instance The object instance to inject fields into.
-   * @throws IllegalAccessException If a field cannot be accessed.
-   */
-  private void injectFields(@NotNull Object instance) throws IllegalAccessException {
-    var currentClass = instance.getClass();
-    while (currentClass != null && currentClass != Object.class) {
-      for (var field : currentClass.getDeclaredFields()) {
-        if (field.isAnnotationPresent(ModInject.class)) {
-          field.setAccessible(true);
-          var fieldType = field.getType();
-          // Handle injection of a list of beans.
-          if (BeanList.class.isAssignableFrom(fieldType)) {
-            var parameterizedType = (ParameterizedType) field.getGenericType();
-            var listType = (Class<?>) parameterizedType.getActualTypeArguments()[0];
-            logger.debug("[{}] Found @ModInject on list field [{}] in class [{}].", modId, field.getName(), instance.getClass().getName());
-            var dependencies = getInstancesOf(listType);
-            field.set(instance, dependencies);
-            logger.debug("[{}] Injected {} dependencies of type [{}] into field [{}].", modId, dependencies.size(), listType.getName(), field.getName());
-          } else {
-            // Handle injection of a single bean.
-            var identifier = field.isAnnotationPresent(ModIdentifier.class) ? field.getAnnotation(ModIdentifier.class).value() : null;
-            logger.debug("[{}] Found @ModInject on field [{}] in class [{}].", modId, field.getName(), instance.getClass().getName());
-            var dependency = getInstanceOf(fieldType, identifier);
-            field.set(instance, dependency);
-            logger.debug("[{}] Injected dependency of type [{}] into field [{}].", modId, dependency.getClass().getName(), field.getName());
-          }
-        }
+   * @throws InstanceCreationException If a field cannot be assigned.
+   */
+  private void injectFields(@NotNull Object instance) {
+    for (var fieldInjection : BeanMetadata.of(instance.getClass()).getFieldInjections()) {
+      var field = fieldInjection.field();
+      logger.debug("[{}] Found @ModInject on field [{}] in class [{}].", modId, field.getName(), instance.getClass().getName());
+      var dependency = resolveDependency(fieldInjection.dependency());
+      try {
+        fieldInjection.inject(instance, dependency);
+      } catch (InvocationTargetException exception) {
+        throw new InstanceCreationException(String.format("Failed to inject the field '%s' of '%s'. Ensure that all fields annotated with @ModInject are accessible (e.g., not 'final').", field.getName(), instance.getClass().getName()), exception.getCause());
       }
-      currentClass = currentClass.getSuperclass(); // Traverse up the class hierarchy.
+      logger.debug("[{}] Injected dependency of type [{}] into field [{}].", modId, fieldInjection.dependency().type().getName(), field.getName());
     }
   }
 
@@ -382,67 +1342,179 @@ final class ModContainer {
    * @throws InstanceCreationException If the PostConstruct method cannot be invoked.
    */
   private void invokePostConstructMethod(@NotNull Object instance) {
-    var postConstructMethods = new ArrayList<Method>();
-    var currentClass = instance.getClass();
+    var beanMetadata = BeanMetadata.of(instance.getClass());
+    if (beanMetadata.getPostConstructMethod() != null) {
+      logger.debug("[{}] Found @PostConstruct on method [{}] in class [{}].", modId, beanMetadata.getPostConstructMethod().getName(), instance.getClass().getName());
+      beanMetadata.invokePostConstruct(instance);
+    }
+  }
+
+  /**
+   * The precompiled creation plan of a {@link Scope#PROTOTYPE} class. The generated factory or the injectable
+   * constructor is looked up once; every call of {@link #newInstance()} then creates, injects and initializes a new
+   * instance without registering it.
+   *
+   * @param <T> The type of the prototype class.
+   */
+  private final class PrototypePlan<T> implements ScopedBean {
+    private final Class<T> beanClass;
+    private final @Nullable BeanFactory<T> beanFactory;
+    private final @Nullable BeanMetadata.ConstructorInjection constructorInjection;
 
-    while (currentClass != null && currentClass != Object.class) {
-      for (var method : currentClass.getDeclaredMethods()) {
-        if (method.isAnnotationPresent(PostConstruct.class)) {
-          postConstructMethods.add(method);
+    PrototypePlan(@NotNull Class<T> beanClass) {
+      this.beanClass = beanClass;
+      this.beanFactory = loadBeanFactory(beanClass);
+      this.constructorInjection = beanFactory == null ? BeanMetadata.of(beanClass).getConstructorInjection() : null;
+    }
+
+    /**
+     * Creates a new, fully initialized instance.
+     *
+     * @return The new instance.
+     * @throws InstanceCreationException If the instance cannot be created.
+     */
+    @NotNull T newInstance() {
+      logger.debug("[{}] Creating new {} instance of [{}].", modId, getScope(beanClass).name().toLowerCase(Locale.ROOT), beanClass.getName());
+      // The instance is never registered, so it is under construction until its @PostConstruct method has returned.
+      enterConstruction(beanClass);
+      try {
+        T instance;
+        try {
+          instance = beanFactory != null
+            ? beanClass.cast(beanFactory.newInstance(injectionResolver))
+            : beanClass.cast(constructorInjection.newInstance(resolveConstructorArguments(constructorInjection)));
+        } catch (Exception exception) {
+          throw toInstanceCreationException(beanClass, exception);
         }
+
+        var constructedBean = new ConstructedBean<>(instance, beanFactory);
+        injectFields(constructedBean);
+        invokePostConstruct(constructedBean);
+        return instance;
+      } finally {
+        exitConstruction();
       }
-      currentClass = currentClass.getSuperclass(); // Traverse up the class hierarchy.
     }
 
-    if (postConstructMethods.size() > 1) {
-      throw new MultiplePostConstructMethodsException(String.format("Found multiple methods annotated with @PostConstruct in the class hierarchy of '%s'. Only one @PostConstruct method is allowed.", instance.getClass().getName()));
+    /**
+     * Creates a new instance, see {@link #newInstance()}.
+     *
+     * @return The new instance.
+     */
+    @Override
+    public @NotNull Object get() {
+      return newInstance();
     }
+  }
 
-    if (!postConstructMethods.isEmpty()) {
-      var method = postConstructMethods.getFirst();
-      logger.debug("[{}] Found @PostConstruct on method [{}] in class [{}].", modId, method.getName(), instance.getClass().getName());
+  /**
+   * The instances of a non-singleton class. Stored in the {@link ResolvedBeanTable} in place of a bean, so the
+   * table can hand out a different instance per lookup or per thread.
+   */
+  private interface ScopedBean {
+    /**
+     * Gets the instance for the current lookup.
+     *
+     * @return The instance.
+     */
+    @NotNull Object get();
+  }
 
-      if (method.getParameterCount() != 0) {
-        throw new PostConstructMethodHasParametersException(String.format("The @PostConstruct method '%s' must not have any parameters. Please remove the parameters from the method signature.", method.getName()));
-      }
+  /**
+   * The instances of a {@link Scope#THREAD} class. Each thread creates its instance on its first lookup with the
+   * {@link PrototypePlan} of the class and then finds it in a {@link ThreadLocal}, so later lookups neither lock
+   * nor allocate.
+   * <p>
+   * Every instance is tracked in the {@link #threadInstances} registry of the container, together with a
+   * {@link Cleaner} registration on its thread. Once the thread has died and been garbage collected, or the container
+   * is closed, the instance is released and closed if it is {@link AutoCloseable}. Releasing an instance also clears
+   * the holder the thread's {@link ThreadLocal} points to, so pooled and carrier threads that outlive the container
+   * do not keep the instance. Instances released by the cleaner are closed on the cleaner's thread.
+   *
+   * @param <T> The type of the thread-scoped class.
+   */
+  private final class ThreadScope<T> implements ScopedBean {
+    private final PrototypePlan<T> plan;
+    private final ThreadLocal<ThreadInstance> currentInstance = new ThreadLocal<>();
 
-      try {
-        method.setAccessible(true);
-        method.invoke(instance);
-      } catch (Exception exception) {
-        throw new InstanceCreationException(String.format("Failed to invoke the @PostConstruct method '%s'. Please check the code inside this method for errors.", method.getName()), exception);
+    ThreadScope(@NotNull PrototypePlan<T> plan) {
+      this.plan = plan;
+    }
+
+    /**
+     * Gets the instance of the current thread, creating it on the first call of the thread.
+     *
+     * @return The instance of the current thread.
+     */
+    @Override
+    public @NotNull Object get() {
+      var threadInstance = currentInstance.get();
+      if (threadInstance != null) {
+        var instance = threadInstance.instance.get();
+        if (instance != null) {
+          return instance;
+        }
+        currentInstance.remove();
       }
+      // The instance may have been released because the container was closed, which must not create a new one.
+      checkUsable();
+
+      var thread = Thread.currentThread();
+      var instance = plan.newInstance();
+      threadInstance = new ThreadInstance(modId, instance, threadInstances);
+      threadInstance.cleanable = threadCleaner.register(thread, threadInstance);
+      threadInstances.add(threadInstance);
+      currentInstance.set(threadInstance);
+      logger.debug("[{}] Created thread-scoped instance of [{}] for thread [{}].", modId, plan.beanClass.getName(), thread.getName());
+      return instance;
     }
   }
 
   /**
-   * Finds the appropriate constructor for instantiating a class.
-   * It prioritizes a constructor annotated with {@link ModInject}. If none is found,
-   * it falls back to the public no-argument constructor.
-   *
-   * @param targetClass The class to find the constructor for.
-   * @param <T> The type of the class.
-   * @return The injectable {@link Constructor}.
-   * @throws MultipleInjectableConstructorsException If more than one constructor is annotated with {@link ModInject}.
-   * @throws NoInjectableConstructorException If no suitable constructor is found.
+   * The instance of a {@link Scope#THREAD} class for one thread, and the action that releases it. Static and without
+   * a reference to the thread, so the registration with the {@link Cleaner} does not keep the thread reachable.
+   * <p>
+   * The instance is read by its thread and released by the thread that closes the container or by the Cleaner
+   * thread, so it is held in an {@link AtomicReference} that makes the release visible to the owner thread.
    */
-  private <T> @NotNull Constructor<?> findInjectableConstructor(@NotNull Class<T> targetClass) {
-    var injectableConstructors = Arrays.stream(targetClass.getConstructors())
-      .filter(constructor -> constructor.isAnnotationPresent(ModInject.class))
-      .toList();
+  private static final class ThreadInstance implements Runnable {
+    private final String modId;
+    private final Set<ThreadInstance> registry;
+    private final AtomicReference<Object> instance;
+    private Cleaner.Cleanable cleanable;
 
-    if (injectableConstructors.size() > 1) {
-      throw new MultipleInjectableConstructorsException(String.format("Class '%s' has multiple constructors annotated with @ModInject. Only one constructor can be marked for injection.", targetClass.getName()));
+    ThreadInstance(@NotNull String modId, @NotNull Object instance, @NotNull Set<ThreadInstance> registry) {
+      this.modId = modId;
+      this.instance = new AtomicReference<>(instance);
+      this.registry = registry;
     }
 
-    if (!injectableConstructors.isEmpty()) {
-      return injectableConstructors.getFirst();
+    /**
+     * Releases the instance. Invoked by the {@link Cleaner} or by {@link Cleaner.Cleanable#clean()}; the instance is
+     * taken out atomically, so it is closed at most once.
+     */
+    @Override
+    public void run() {
+      registry.remove(this);
+      var released = instance.getAndSet(null);
+      if (released instanceof AutoCloseable closeable) {
+        try {
+          closeable.close();
+        } catch (Exception exception) {
+          logger.warn("[{}] Failed to close the thread-scoped instance of [{}].", modId, released.getClass().getName(), exception);
+        }
+      }
     }
+  }
 
-    try {
-      return targetClass.getConstructor();
-    } catch (NoSuchMethodException exception) {
-      throw new NoInjectableConstructorException(String.format("Could not find a suitable constructor for class '%s'. To make it injectable, provide a public no-argument constructor or annotate exactly one constructor with @ModInject.", targetClass.getName()), exception);
-    }
+  /**
+   * A constructed and registered bean whose fields may not have been injected yet. Uses the generated factory
+   * of the class if available and falls back to reflection for every step the factory does not handle.
+   *
+   * @param instance The bean.
+   * @param beanFactory The generated factory of the bean's class, or null.
+   * @param <T> The type of the bean.
+   */
+  private record ConstructedBean<T>(@NotNull T instance, @Nullable BeanFactory<T> beanFactory) {
   }
 }
@@ -16,8 +16,13 @@ import com.dotnomi.fabricdependencyinjection.exception.UnmanagedClassException;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * The public-facing static API for the dependency injection framework.
@@ -50,7 +55,80 @@ public final class ModInjector {
    * @throws ModInjectorException for any other framework-specific errors.
    */
   public static void initialize(@NotNull String modId, @NotNull Object mainInstance) throws ModInjectorException {
-    modContainers.computeIfAbsent(modId, ModContainer::new).initialize(mainInstance);
+    modContainers.computeIfAbsent(modId, ModContainer::new).initialize(mainInstance, null);
+  }
+
+  /**
+   * Initializes the dependency injection container for a specific mod and creates independent beans in parallel.
+   * The dependency graph of all managed classes is built first; each bean is then created on the given executor
+   * as soon as all of its dependencies are available. Beans that depend on each other through fields are created
+   * together in a single task. This method blocks until the container is fully initialized.
+   * <p>
+   * This is useful if many beans do expensive work in their constructors or {@code @PostConstruct} methods.
+   * Any executor can be used, e.g. {@link java.util.concurrent.ForkJoinPool#commonPool()} or
+   * {@link java.util.concurrent.Executors#newVirtualThreadPerTaskExecutor()}. If several beans fail,
+   * the same error as in a sequential initialization is thrown.
+   *
+   * @param modId The unique ID of the mod.
+   * @param mainInstance The main class of the mod, annotated with {@link ModMain}.
+   * @param executor The executor to create the beans on.
+   * @throws ContainerAlreadyInitializedException if the container for the given modId has already been initialized.
+   * @throws NoMainClassException if the main class is not annotated with {@link ModMain}.
+   * @throws CircularDependencyException if a circular dependency is detected during instantiation.
+   * @throws InstanceCreationException if an unexpected error occurs during instantiation.
+   * @throws ModInjectorException for any other framework-specific errors.
+   */
+  public static void initialize(@NotNull String modId, @NotNull Object mainInstance, @NotNull Executor executor) throws ModInjectorException {
+    modContainers.computeIfAbsent(modId, ModContainer::new).initialize(mainInstance, executor);
+  }
+
+  /**
+   * Initializes the dependency injection container for a specific mod asynchronously on the common
+   * {@link ForkJoinPool}. See {@link #initializeAsync(String, Object, Executor)}.
+   *
+   * @param modId The unique ID of the mod.
+   * @param mainInstance The main class of the mod, annotated with {@link ModMain}.
+   * @return A future that completes once the container is running, or completes exceptionally with a
+   * {@link java.util.concurrent.CompletionException} whose cause is the {@link ModInjectorException} that caused
+   * the initialization to fail.
+   */
+  public static @NotNull CompletableFuture<Void> initializeAsync(@NotNull String modId, @NotNull Object mainInstance) {
+    return initializeAsync(modId, mainInstance, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Initializes the dependency injection container for a specific mod asynchronously.
+   * The container is registered immediately, so lookups made before the returned future completes fail with a
+   * {@link ContainerNotInitializedException} stating that the container is still initializing.
+   * <p>
+   * This allows several mods to scan the classpath and create their beans concurrently. Note that the constructors
+   * and {@code @PostConstruct} methods of the mod's beans run on a thread of the executor.
+   *
+   * @param modId The unique ID of the mod.
+   * @param mainInstance The main class of the mod, annotated with {@link ModMain}.
+   * @param executor The executor to run the initialization on.
+   * @return A future that completes once the container is running, or completes exceptionally with a
+   * {@link java.util.concurrent.CompletionException} whose cause is the {@link ModInjectorException} that caused
+   * the initialization to fail.
+   */
+  public static @NotNull CompletableFuture<Void> initializeAsync(@NotNull String modId, @NotNull Object mainInstance, @NotNull Executor executor) {
+    var modContainer = modContainers.computeIfAbsent(modId, ModContainer::new);
+    return CompletableFuture.runAsync(() -> modContainer.initialize(mainInstance, null), executor);
+  }
+
+  /**
+   * Initializes the dependency injection containers of several mods concurrently on the given executor.
+   * Each mod is initialized independently; a failing mod does not affect the initialization of the others.
+   *
+   * @param mainInstances The main instances of the mods, keyed by mod ID.
+   * @param executor The executor to run the initializations on.
+   * @return An unmodifiable map with one future per mod ID, in the iteration order of the given map.
+   * Each future completes like the one returned by {@link #initializeAsync(String, Object, Executor)}.
+   */
+  public static @NotNull Map<String, CompletableFuture<Void>> initializeAll(@NotNull Map<String, Object> mainInstances, @NotNull Executor executor) {
+    var futures = new LinkedHashMap<String, CompletableFuture<Void>>();
+    mainInstances.forEach((modId, mainInstance) -> futures.put(modId, initializeAsync(modId, mainInstance, executor)));
+    return Collections.unmodifiableMap(futures);
   }
 
   /**
@@ -86,7 +164,46 @@ public final class ModInjector {
    */
   public static <T> @NotNull T getInstanceOf(@NotNull String modId, @NotNull Class<T> targetClass, @Nullable String identifier) throws ModInjectorException {
     var modContainer = getModContainer(modId);
-    return modContainer.getInstanceOf(targetClass, identifier);
+    return modContainer.lookUpInstance(targetClass, identifier);
+  }
+
+  /**
+   * Creates a handle that resolves a managed instance once and then returns it without any further lookup.
+   * See {@link #handle(String, Class, String)}.
+   *
+   * @param modId The unique ID of the mod whose container should be used.
+   * @param targetClass The class type of the instance to retrieve.
+   * @param <T> The type of the class.
+   * @return A handle of the requested instance.
+   * @throws ContainerNotInitializedException if the container has not been initialized yet.
+   * @throws UnmanagedClassException if the injector does not manage the requested class.
+   * @throws TooManyInstancesFoundException if more than one matching instance is found without an identifier.
+   * @throws ModInjectorException for any other framework-specific errors.
+   */
+  public static <T> @NotNull BeanHandle<T> handle(@NotNull String modId, @NotNull Class<T> targetClass) throws ModInjectorException {
+    return handle(modId, targetClass, null);
+  }
+
+  /**
+   * Creates a handle that resolves a managed instance, filtered by an identifier, once and then returns it without
+   * any further lookup. Unlike {@link #getInstanceOf(String, Class, String)}, the bean is resolved right away, so
+   * errors are reported here and {@link BeanHandle#get()} only checks the status of the container and reads a final
+   * field. Intended for code that cannot use injection, such as mixins, which can keep the handle in a
+   * {@code static final} field.
+   *
+   * @param modId The unique ID of the mod whose container should be used.
+   * @param targetClass The class type of the instance to retrieve.
+   * @param identifier The unique identifier for the instance.
+   * @param <T> The type of the class.
+   * @return A handle of the requested instance.
+   * @throws ContainerNotInitializedException if the container has not been initialized yet.
+   * @throws UnmanagedClassException if the injector does not manage the requested class.
+   * @throws TooManyInstancesFoundException if more than one matching instance is found.
+   * @throws ModInjectorException for any other framework-specific errors.
+   */
+  public static <T> @NotNull BeanHandle<T> handle(@NotNull String modId, @NotNull Class<T> targetClass, @Nullable String identifier) throws ModInjectorException {
+    var modContainer = getModContainer(modId);
+    return modContainer.createHandle(targetClass, identifier);
   }
 
   /**
@@ -104,6 +221,81 @@ public final class ModInjector {
     return modContainer.getInstancesOf(targetClass);
   }
 
+  /**
+   * Creates a bounded pool of instances of a prototype bean, i.e. a class annotated with
+   * {@code @ModScoped(scope = Scope.PROTOTYPE)}. {@link BeanPool#acquire()} reuses released instances and only
+   * creates new ones when the pool is empty, which avoids the allocation of a new bean in hot loops.
+   * Every call creates a new, independent pool.
+   *
+   * @param modId The unique ID of the mod whose container should be used.
+   * @param targetClass The prototype class, or an interface that resolves to exactly one prototype class.
+   * @param capacity The maximum number of idle instances the pool keeps.
+   * @param <T> The type of the class.
+   * @return A new, empty pool.
+   * @throws ContainerNotInitializedException if the container has not been initialized yet.
+   * @throws UnmanagedClassException if the type does not resolve to a prototype bean.
+   * @throws IllegalArgumentException if the capacity is not positive.
+   */
+  public static <T> @NotNull BeanPool<T> createPool(@NotNull String modId, @NotNull Class<T> targetClass, int capacity) throws ModInjectorException {
+    var modContainer = getModContainer(modId);
+    return modContainer.createPool(targetClass, capacity);
+  }
+
+  /**
+   * Retrieves the event bus of a container, which dispatches posted events to the {@code @Subscribe} methods of the
+   * mod's beans. The event bus can also be injected into beans.
+   *
+   * @param modId The unique ID of the mod whose container should be used.
+   * @return The event bus of the container.
+   * @throws ContainerNotInitializedException if the container has not been initialized yet.
+   */
+  public static @NotNull EventBus getEventBus(@NotNull String modId) throws ModInjectorException {
+    var modContainer = getModContainer(modId);
+    return modContainer.getEventBus();
+  }
+
+  /**
+   * Retrieves the timings of a container's initialization: the discovery of the managed classes, the planning of
+   * the dependency graph and the creation of every bean. The report can be exported as a Chrome trace with
+   * {@link StartupReport#toChromeTrace()}.
+   *
+   * @param modId The unique ID of the mod whose container should be used.
+   * @return The report of the finished or failed initialization.
+   * @throws ContainerNotInitializedException if the container has not been initialized yet.
+   */
+  public static @NotNull StartupReport getStartupReport(@NotNull String modId) throws ModInjectorException {
+    var modContainer = getModContainer(modId);
+    return modContainer.getStartupReport();
+  }
+
+  /**
+   * Retrieves the live runtime metrics of a container, such as the number of lookups, registry misses and beans
+   * created on demand. The same metrics are registered as a platform MBean, see {@link ContainerMetricsMXBean}.
+   *
+   * @param modId The unique ID of the mod whose container should be used.
+   * @return The metrics of the container.
+   * @throws ContainerNotInitializedException if the container has not been initialized yet.
+   */
+  public static @NotNull ContainerMetrics getMetrics(@NotNull String modId) throws ModInjectorException {
+    var modContainer = getModContainer(modId);
+    return modContainer.getMetrics();
+  }
+
+  /**
+   * Closes the container of a mod and removes it, so the mod can be initialized again, e.g. when a world is reloaded.
+   * The instances of thread-scoped beans are released and closed if they implement {@link AutoCloseable}, and the
+   * metrics MBean of the container is unregistered. Lookups through beans that still reference the closed container
+   * and events posted to its {@link EventBus} fail with a {@link ContainerNotInitializedException}.
+   *
+   * @param modId The unique ID of the mod whose container should be closed.
+   * @throws ContainerNotInitializedException if the container has not been initialized yet.
+   */
+  public static void close(@NotNull String modId) throws ModInjectorException {
+    var modContainer = getModContainer(modId);
+    modContainer.close();
+    modContainers.remove(modId, modContainer);
+  }
+
   /**
    * A private helper method to retrieve the correct {@link ModContainer} for a given mod ID.
    * It performs checks to ensure the container exists and is in a usable state.
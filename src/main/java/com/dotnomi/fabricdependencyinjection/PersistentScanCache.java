@@ -0,0 +1,281 @@
+package com.dotnomi.fabricdependencyinjection;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.reflections.Store;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.ZipFile;
+
+/**
+ * Persists the scanned tables of classpath jars to a local cache directory, so that warm restarts do not have to
+ * parse jars that have not changed.
+ * <p>
+ * Each jar and scanned package gets its own cache file, which is only used if the size, the modification time and a hash over the names
+ * and CRCs of all jar entries still match. The hash is computed from the central directory of the jar, so validating
+ * a cache file never reads the class files themselves. Cache files are read into a heap buffer, so no mapping keeps
+ * them locked while they are replaced, and written atomically, so a crash while writing never leaves a corrupt file
+ * behind.
+ * <p>
+ * The cache directory defaults to {@code .fabric-dependency-injection/scan-cache} in the home directory of the user
+ * and can be changed with the {@value #CACHE_DIRECTORY_PROPERTY} system property. On POSIX file systems, the
+ * directory is created with owner-only permissions, and the directory and its cache files are ignored unless they
+ * are owned by the current user and not writable by anyone else, so other users cannot inject classes into the
+ * scan results. Setting {@value #ENABLED_PROPERTY} to {@code false}
+ * disables the cache. All I/O errors are ignored and lead to a regular scan.
+ */
+final class PersistentScanCache {
+  /**
+   * The system property overriding the cache directory.
+   */
+  static final String CACHE_DIRECTORY_PROPERTY = "fabricdependencyinjection.scanCache.directory";
+
+  /**
+   * The system property that disables the cache if set to {@code false}.
+   */
+  static final String ENABLED_PROPERTY = "fabricdependencyinjection.scanCache.enabled";
+
+  private static final Logger logger = LoggerFactory.getLogger(PersistentScanCache.class);
+  private static final int MAGIC = 0x46444943;
+  private static final int FORMAT_VERSION = 1;
+  private static final Set<PosixFilePermission> OWNER_ONLY_PERMISSIONS = PosixFilePermissions.fromString("rwx------");
+
+  private PersistentScanCache() {
+  }
+
+  /**
+   * Loads the cached tables of the given jar.
+   *
+   * @param jar The jar to load the tables for.
+   * @param packagePrefix The package prefix the tables were scanned for.
+   * @return The cached tables, or null if the cache is disabled, missing, outdated or unreadable.
+   */
+  static @Nullable Store load(@NotNull Path jar, @NotNull String packagePrefix) {
+    var cacheFile = getCacheFile(jar, packagePrefix);
+    if (cacheFile == null || !Files.isRegularFile(cacheFile, LinkOption.NOFOLLOW_LINKS)) {
+      return null;
+    }
+
+    try {
+      if (!isPrivate(cacheFile.getParent()) || !isPrivate(cacheFile)) {
+        logger.debug("Ignoring scan cache {}, because it is not private to the current user", cacheFile);
+        return null;
+      }
+
+      var buffer = ByteBuffer.wrap(Files.readAllBytes(cacheFile));
+      if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+        return null;
+      }
+
+      var key = JarKey.of(jar);
+      if (!key.equals(new JarKey(buffer.getLong(), buffer.getLong(), buffer.getLong()))) {
+        logger.debug("Scan cache of {} is outdated", jar);
+        return null;
+      }
+
+      var store = new Store();
+      var indexCount = buffer.getInt();
+      for (var i = 0; i < indexCount; i++) {
+        var index = readString(buffer);
+        var entries = new HashMap<String, Set<String>>();
+        var entryCount = buffer.getInt();
+        for (var j = 0; j < entryCount; j++) {
+          var entryKey = readString(buffer);
+          var valueCount = buffer.getInt();
+          var values = new HashSet<String>(valueCount * 2);
+          for (var k = 0; k < valueCount; k++) {
+            values.add(readString(buffer));
+          }
+          entries.put(entryKey, values);
+        }
+        store.put(index, entries);
+      }
+      logger.debug("Loaded scan cache of {} from {}", jar, cacheFile);
+      return store;
+    } catch (IOException | RuntimeException exception) {
+      logger.debug("Failed to load scan cache of {}", jar, exception);
+      return null;
+    }
+  }
+
+  /**
+   * Writes the tables of the given jar to its cache file, replacing any previous cache file.
+   *
+   * @param jar The jar the tables belong to.
+   * @param packagePrefix The package prefix the tables were scanned for.
+   * @param store The scanned tables of the jar.
+   */
+  static void save(@NotNull Path jar, @NotNull String packagePrefix, @NotNull Store store) {
+    var cacheFile = getCacheFile(jar, packagePrefix);
+    if (cacheFile == null) {
+      return;
+    }
+
+    Path temporaryFile = null;
+    try {
+      var key = JarKey.of(jar);
+      createPrivateDirectory(cacheFile.getParent());
+      if (!isPrivate(cacheFile.getParent())) {
+        logger.debug("Not saving scan cache of {}, because {} is not private to the current user", jar, cacheFile.getParent());
+        return;
+      }
+      temporaryFile = Files.createTempFile(cacheFile.getParent(), cacheFile.getFileName().toString(), ".tmp");
+      try (var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+        output.writeInt(MAGIC);
+        output.writeInt(FORMAT_VERSION);
+        output.writeLong(key.size());
+        output.writeLong(key.lastModified());
+        output.writeLong(key.contentHash());
+        output.writeInt(store.size());
+        for (var index : store.entrySet()) {
+          writeString(output, index.getKey());
+          output.writeInt(index.getValue().size());
+          for (var entry : index.getValue().entrySet()) {
+            writeString(output, entry.getKey());
+            output.writeInt(entry.getValue().size());
+            for (var value : entry.getValue()) {
+              writeString(output, value);
+            }
+          }
+        }
+      }
+
+      try {
+        Files.move(temporaryFile, cacheFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException exception) {
+        Files.move(temporaryFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+      }
+      logger.debug("Saved scan cache of {} to {}", jar, cacheFile);
+    } catch (IOException | RuntimeException exception) {
+      logger.debug("Failed to save scan cache of {}", jar, exception);
+      if (temporaryFile != null) {
+        try {
+          Files.deleteIfExists(temporaryFile);
+        } catch (IOException ignored) {
+        }
+      }
+    }
+  }
+
+  /**
+   * Gets the cache file of the given jar and package prefix. The name is derived from the absolute path of the jar
+   * and the package prefix, so jars with the same file name in different directories do not share a cache file.
+   *
+   * @return The cache file, or null if the cache is disabled.
+   */
+  private static @Nullable Path getCacheFile(@NotNull Path jar, @NotNull String packagePrefix) {
+    if ("false".equalsIgnoreCase(System.getProperty(ENABLED_PROPERTY))) {
+      return null;
+    }
+
+    var directory = System.getProperty(CACHE_DIRECTORY_PROPERTY);
+    var cacheDirectory = directory != null
+      ? Path.of(directory)
+      : Path.of(System.getProperty("user.home"), ".fabric-dependency-injection", "scan-cache");
+    var absolutePath = jar.toAbsolutePath().normalize().toString();
+    var pathHash = UUID.nameUUIDFromBytes((absolutePath + "!" + packagePrefix).getBytes(StandardCharsets.UTF_8));
+    return cacheDirectory.resolve(jar.getFileName() + "-" + pathHash + ".scan");
+  }
+
+  /**
+   * Creates the given directory with owner-only permissions if it does not exist yet. Its parents are created with
+   * the default permissions.
+   */
+  private static void createPrivateDirectory(@NotNull Path directory) throws IOException {
+    if (Files.exists(directory, LinkOption.NOFOLLOW_LINKS)) {
+      return;
+    }
+
+    Files.createDirectories(directory.getParent());
+    try {
+      if (isPosix(directory)) {
+        Files.createDirectory(directory, PosixFilePermissions.asFileAttribute(OWNER_ONLY_PERMISSIONS));
+      } else {
+        Files.createDirectory(directory);
+      }
+    } catch (FileAlreadyExistsException ignored) {
+    }
+  }
+
+  /**
+   * Checks if only the current user can modify the given file. Symbolic links are never private, because their
+   * target could be replaced. On file systems without POSIX permissions, the file is trusted.
+   */
+  private static boolean isPrivate(@NotNull Path file) throws IOException {
+    if (Files.isSymbolicLink(file)) {
+      return false;
+    }
+    if (!isPosix(file)) {
+      return true;
+    }
+
+    var attributes = Files.readAttributes(file, PosixFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+    var currentUser = file.getFileSystem().getUserPrincipalLookupService().lookupPrincipalByName(System.getProperty("user.name"));
+    return attributes.owner().equals(currentUser)
+      && !attributes.permissions().contains(PosixFilePermission.GROUP_WRITE)
+      && !attributes.permissions().contains(PosixFilePermission.OTHERS_WRITE);
+  }
+
+  private static boolean isPosix(@NotNull Path file) {
+    return file.getFileSystem().supportedFileAttributeViews().contains("posix");
+  }
+
+  private static void writeString(@NotNull DataOutputStream output, @NotNull String value) throws IOException {
+    var bytes = value.getBytes(StandardCharsets.UTF_8);
+    output.writeInt(bytes.length);
+    output.write(bytes);
+  }
+
+  private static @NotNull String readString(@NotNull ByteBuffer buffer) {
+    var length = buffer.getInt();
+    if (length < 0 || length > buffer.remaining()) {
+      throw new BufferUnderflowException();
+    }
+    var bytes = new byte[length];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Identifies the content of a jar.
+   *
+   * @param size The size of the jar in bytes.
+   * @param lastModified The modification time of the jar in milliseconds.
+   * @param contentHash A hash over the names and CRCs of all entries of the jar.
+   */
+  private record JarKey(long size, long lastModified, long contentHash) {
+    static @NotNull JarKey of(@NotNull Path jar) throws IOException {
+      var contentHash = 1125899906842597L;
+      try (var zipFile = new ZipFile(jar.toFile())) {
+        var entries = zipFile.entries();
+        while (entries.hasMoreElements()) {
+          var entry = entries.nextElement();
+          contentHash = 31 * contentHash + entry.getName().hashCode();
+          contentHash = 31 * contentHash + entry.getCrc();
+        }
+      }
+      return new JarKey(Files.size(jar), Files.getLastModifiedTime(jar).toMillis(), contentHash);
+    }
+  }
+}
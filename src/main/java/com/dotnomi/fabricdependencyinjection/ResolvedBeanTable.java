@@ -0,0 +1,125 @@
+package com.dotnomi.fabricdependencyinjection;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * The frozen lookup table of a running container. Each requested type is resolved once through the container's
+ * regular lookup and then cached in a {@link ClassValue}, so repeated lookups are a single lock-free read
+ * without allocation, logging or registry traversal.
+ * <p>
+ * The same applies to lists of beans: once a container is running, the beans assignable to a type never change, so
+ * every requested type shares a single immutable {@link BeanList}.
+ * <p>
+ * Failed lookups are not cached, so they keep throwing the same exception as the regular lookup.
+ * <p>
+ * The values of a {@link ClassValue} are held by the class they belong to, and the cached beans usually reach the
+ * container, so the container must {@link #clear()} the table when it is closed.
+ */
+final class ResolvedBeanTable {
+  private final BiFunction<Class<?>, String, Object> resolver;
+  private final Function<Class<?>, BeanList<?>> listResolver;
+
+  /**
+   * The types that have a value in any of the class values, so that {@link #clear()} can remove them.
+   */
+  private final Set<Class<?>> resolvedTypes = ConcurrentHashMap.newKeySet();
+
+  /**
+   * The resolved beans of lookups without an identifier.
+   */
+  private final ClassValue<Object> unqualifiedBeans = new ClassValue<>() {
+    @Override
+    protected Object computeValue(@NotNull Class<?> type) {
+      resolvedTypes.add(type);
+      return resolver.apply(type, null);
+    }
+  };
+
+  /**
+   * The resolved beans of lookups with an identifier, keyed by the identifier.
+   */
+  private final ClassValue<Map<String, Object>> qualifiedBeans = new ClassValue<>() {
+    @Override
+    protected Map<String, Object> computeValue(@NotNull Class<?> type) {
+      resolvedTypes.add(type);
+      return new ConcurrentHashMap<>();
+    }
+  };
+
+  /**
+   * The resolved lists of all beans assignable to a type.
+   */
+  private final ClassValue<BeanList<?>> beanLists = new ClassValue<>() {
+    @Override
+    protected BeanList<?> computeValue(@NotNull Class<?> type) {
+      resolvedTypes.add(type);
+      return listResolver.apply(type);
+    }
+  };
+
+  /**
+   * Creates a new table.
+   *
+   * @param resolver The regular lookup of the container, invoked once per type and identifier.
+   * @param listResolver The regular lookup of all beans assignable to a type, invoked once per type.
+   */
+  ResolvedBeanTable(@NotNull BiFunction<Class<?>, String, Object> resolver, @NotNull Function<Class<?>, BeanList<?>> listResolver) {
+    this.resolver = resolver;
+    this.listResolver = listResolver;
+  }
+
+  /**
+   * Gets the bean for the given type and identifier, resolving it on first access.
+   *
+   * @param type The requested type.
+   * @param identifier The optional identifier. Can be null.
+   * @return The resolved bean.
+   */
+  @NotNull Object get(@NotNull Class<?> type, @Nullable String identifier) {
+    if (identifier == null) {
+      return unqualifiedBeans.get(type);
+    }
+
+    var beansByIdentifier = qualifiedBeans.get(type);
+    var bean = beansByIdentifier.get(identifier);
+    if (bean == null) {
+      // Not resolved inside computeIfAbsent, because the resolution may recursively look up other identifiers.
+      bean = resolver.apply(type, identifier);
+      var previousBean = beansByIdentifier.putIfAbsent(identifier, bean);
+      if (previousBean != null) {
+        bean = previousBean;
+      }
+    }
+    return bean;
+  }
+
+  /**
+   * Gets the list of all beans assignable to the given type, resolving it on first access.
+   *
+   * @param type The requested type.
+   * @return The shared list of the resolved beans.
+   */
+  @NotNull BeanList<?> getAll(@NotNull Class<?> type) {
+    return beanLists.get(type);
+  }
+
+  /**
+   * Removes all resolved beans and lists from the classes they are stored on, so that they no longer keep the
+   * container reachable. The table must not be used afterwards.
+   */
+  void clear() {
+    for (var type : resolvedTypes) {
+      unqualifiedBeans.remove(type);
+      qualifiedBeans.remove(type);
+      beanLists.remove(type);
+    }
+    resolvedTypes.clear();
+  }
+}
@@ -0,0 +1,145 @@
+package com.dotnomi.fabricdependencyinjection;
+
+import com.dotnomi.fabricdependencyinjection.annotation.ModIdentifier;
+import com.dotnomi.fabricdependencyinjection.annotation.ModScoped;
+import com.dotnomi.fabricdependencyinjection.exception.ModInjectorException;
+import com.dotnomi.fabricdependencyinjection.processor.ModScopedIndexProcessor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the compile-time index of {@link ModScoped} classes written by {@link ModScopedIndexProcessor}.
+ * The index allows the container to discover its managed classes in O(beans) without scanning the classpath.
+ */
+final class ScopedClassIndex {
+  private static final Logger logger = LoggerFactory.getLogger(ScopedClassIndex.class);
+
+  /**
+   * The system property that disables the index when set to {@code false}, so the classpath is always scanned.
+   */
+  static final String ENABLED_PROPERTY = "fabricdependencyinjection.index.enabled";
+
+  /**
+   * The managed classes of the index, mapped to their index entry.
+   */
+  private final Map<Class<?>, Entry> entries;
+
+  private ScopedClassIndex(@NotNull Map<Class<?>, Entry> entries) {
+    this.entries = Collections.unmodifiableMap(entries);
+  }
+
+  /**
+   * Loads all index entries below the given base package that are visible to the class loader of the main class.
+   * The index is only considered present if the main class itself is listed, because then the mod was compiled
+   * with the annotation processor. It is ignored if the processor recorded a class below the base package that was
+   * not part of its compilation, e.g. a class compiled by the Kotlin compiler, or if it is disabled with
+   * {@value #ENABLED_PROPERTY}. Only the index files are read; the classpath is never listed.
+   *
+   * @param mainClass The {@code @ModMain} class of the mod.
+   * @param basePackage The root package whose classes belong to the mod.
+   * @return The loaded index, or null if the mod has not been compiled with a complete index.
+   * @throws ModInjectorException If an index exists but cannot be read or references a missing class.
+   */
+  static @Nullable ScopedClassIndex load(@NotNull Class<?> mainClass, @NotNull String basePackage) {
+    var classLoader = mainClass.getClassLoader();
+    if (classLoader == null || "false".equalsIgnoreCase(System.getProperty(ENABLED_PROPERTY))) {
+      return null;
+    }
+
+    var packagePrefix = basePackage.isEmpty() ? "" : basePackage + ".";
+    var entriesByName = new LinkedHashMap<String, Entry>();
+    var containsMainClass = false;
+
+    try {
+      for (var columns : readLines(classLoader, ModScopedIndexProcessor.INDEX_RESOURCE)) {
+        var className = columns[0];
+        var identifier = columns.length > 1 && !columns[1].isEmpty() ? columns[1] : null;
+        var factoryName = columns.length > 2 && !columns[2].isEmpty() ? columns[2] : null;
+
+        if (className.equals(mainClass.getName())) {
+          containsMainClass = true;
+        }
+        if (className.startsWith(packagePrefix)) {
+          entriesByName.putIfAbsent(className, new Entry(identifier, factoryName));
+        }
+      }
+      if (!containsMainClass) {
+        return null;
+      }
+
+      for (var columns : readLines(classLoader, ModScopedIndexProcessor.UNPROCESSED_CLASSES_RESOURCE)) {
+        if (columns[0].startsWith(packagePrefix)) {
+          logger.info("The @ModScoped index of package {} does not cover the class {}, which was compiled without the annotation processor", basePackage, columns[0]);
+          return null;
+        }
+      }
+    } catch (IOException exception) {
+      throw new ModInjectorException(String.format("Failed to read the @ModScoped index '%s'. Try rebuilding the mod.", ModScopedIndexProcessor.INDEX_RESOURCE), exception);
+    }
+
+    var entries = new LinkedHashMap<Class<?>, Entry>();
+    for (var entry : entriesByName.entrySet()) {
+      try {
+        entries.put(Class.forName(entry.getKey(), false, classLoader), entry.getValue());
+      } catch (ClassNotFoundException | LinkageError exception) {
+        throw new ModInjectorException(String.format("The @ModScoped index references the class '%s', which could not be loaded. The index is probably outdated; try rebuilding the mod.", entry.getKey()), exception);
+      }
+    }
+    return new ScopedClassIndex(entries);
+  }
+
+  /**
+   * Reads the tab-separated lines of all resources with the given name, skipping blank lines and comments.
+   *
+   * @param classLoader The class loader to read the resources from.
+   * @param resourceName The name of the resources.
+   * @return The columns of every line.
+   * @throws IOException If a resource cannot be read.
+   */
+  private static @NotNull List<String[]> readLines(@NotNull ClassLoader classLoader, @NotNull String resourceName) throws IOException {
+    var lines = new ArrayList<String[]>();
+    var resources = classLoader.getResources(resourceName);
+    while (resources.hasMoreElements()) {
+      var resource = resources.nextElement();
+      try (var reader = new BufferedReader(new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+        String line;
+        while ((line = reader.readLine()) != null) {
+          if (!line.isBlank() && !line.startsWith("#")) {
+            lines.add(line.split("\t", -1));
+          }
+        }
+      }
+    }
+    return lines;
+  }
+
+  /**
+   * Gets the indexed classes mapped to their index entry.
+   *
+   * @return An unmodifiable map of all indexed classes.
+   */
+  @NotNull Map<Class<?>, Entry> getEntries() {
+    return entries;
+  }
+
+  /**
+   * A single line of the index.
+   *
+   * @param identifier The {@link ModIdentifier} value of the class, or null.
+   * @param factoryClassName The binary name of the generated {@link BeanFactory}, or null.
+   */
+  record Entry(@Nullable String identifier, @Nullable String factoryClassName) {
+  }
+}
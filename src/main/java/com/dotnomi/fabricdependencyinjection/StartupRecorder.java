@@ -0,0 +1,94 @@
+package com.dotnomi.fabricdependencyinjection;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Collects the timings of a single container initialization and turns them into a {@link StartupReport}.
+ * Bean timings may be recorded from any thread; the phases are recorded by the initializing thread.
+ * All timestamps are {@link System#nanoTime()} values.
+ */
+final class StartupRecorder {
+  private static final StartupReport.Span EMPTY_SPAN = new StartupReport.Span(Duration.ZERO, Duration.ZERO);
+
+  private final long startNanos = System.nanoTime();
+  private final String threadName = Thread.currentThread().getName();
+  private final Queue<StartupReport.BeanTiming> beanTimings = new ConcurrentLinkedQueue<>();
+  /**
+   * The time each thread has spent creating recorded beans, excluding the beans they created on demand.
+   * Bean creations measure how much it grows while they run, which is the time of the beans nested in them.
+   */
+  private final ThreadLocal<long[]> recordedNanos = ThreadLocal.withInitial(() -> new long[1]);
+  private StartupReport.Span scanPhase = EMPTY_SPAN;
+  private StartupReport.Span planningPhase = EMPTY_SPAN;
+
+  /**
+   * Records the discovery of the managed classes.
+   *
+   * @param start The start of the discovery.
+   * @param end The end of the discovery.
+   */
+  void recordScan(long start, long end) {
+    scanPhase = toSpan(start, end);
+  }
+
+  /**
+   * Records the planning of the dependency graph.
+   *
+   * @param start The start of the planning.
+   * @param end The end of the planning.
+   */
+  void recordPlanning(long start, long end) {
+    planningPhase = toSpan(start, end);
+  }
+
+  /**
+   * Gets the time the current thread has spent creating recorded beans so far.
+   *
+   * @return The sum of the exclusive creation times of all beans recorded on the current thread, in nanoseconds.
+   */
+  long getRecordedNanos() {
+    return recordedNanos.get()[0];
+  }
+
+  /**
+   * Records the creation of a bean on the current thread.
+   *
+   * @param beanClass The concrete class of the bean.
+   * @param dependencyWait The nanoseconds from the start of the creation until all dependencies of the bean had been created.
+   * @param timestamps The start and end of the construction, the field injection and the {@code @PostConstruct} invocation, in this order.
+   * @param nestedCreationNanos The nanoseconds spent creating other beans on demand during these phases.
+   */
+  void recordBean(@NotNull Class<?> beanClass, long dependencyWait, @NotNull long[] timestamps, long nestedCreationNanos) {
+    var beanTiming = new StartupReport.BeanTiming(
+      beanClass,
+      Thread.currentThread().getName(),
+      Duration.ofNanos(dependencyWait),
+      toSpan(timestamps[0], timestamps[1]),
+      toSpan(timestamps[2], timestamps[3]),
+      toSpan(timestamps[4], timestamps[5]),
+      Duration.ofNanos(nestedCreationNanos)
+    );
+    beanTimings.add(beanTiming);
+    recordedNanos.get()[0] += beanTiming.total().toNanos();
+  }
+
+  /**
+   * Creates the report of the recorded initialization, which ends now.
+   *
+   * @param modId The ID of the mod.
+   * @return The report.
+   */
+  @NotNull StartupReport finish(@NotNull String modId) {
+    var totalDuration = Duration.ofNanos(System.nanoTime() - startNanos);
+    return new StartupReport(modId, threadName, totalDuration, scanPhase, planningPhase, List.copyOf(beanTimings));
+  }
+
+  private @NotNull StartupReport.Span toSpan(long start, long end) {
+    return new StartupReport.Span(Duration.ofNanos(start - startNanos), Duration.ofNanos(end - start));
+  }
+}
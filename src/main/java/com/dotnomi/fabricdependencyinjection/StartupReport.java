@@ -0,0 +1,231 @@
+package com.dotnomi.fabricdependencyinjection;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * The timings of a container's initialization, recorded for every container and available through
+ * {@link ModInjector#getStartupReport(String)} once the initialization has finished or failed.
+ * <p>
+ * The report contains the discovery of the managed classes, the planning of the dependency graph and, for every bean
+ * created during the initialization, the time spent in its constructor, in field injection and in its
+ * {@code @PostConstruct} method. It can be exported as a Chrome trace, which can be opened in {@code chrome://tracing}
+ * or <a href="https://ui.perfetto.dev">Perfetto</a> to view the initialization as a timeline.
+ * <p>
+ * All points in time are relative to the start of the initialization.
+ */
+public final class StartupReport {
+  private final String modId;
+  private final String threadName;
+  private final Duration totalDuration;
+  private final Span scanPhase;
+  private final Span planningPhase;
+  private final List<BeanTiming> beanTimings;
+
+  StartupReport(@NotNull String modId, @NotNull String threadName, @NotNull Duration totalDuration, @NotNull Span scanPhase, @NotNull Span planningPhase, @NotNull List<BeanTiming> beanTimings) {
+    this.modId = modId;
+    this.threadName = threadName;
+    this.totalDuration = totalDuration;
+    this.scanPhase = scanPhase;
+    this.planningPhase = planningPhase;
+    this.beanTimings = beanTimings.stream()
+      .sorted(Comparator.comparing(beanTiming -> beanTiming.construction().start()))
+      .toList();
+  }
+
+  /**
+   * Gets the ID of the mod the report belongs to.
+   *
+   * @return The mod ID.
+   */
+  public @NotNull String getModId() {
+    return modId;
+  }
+
+  /**
+   * Gets the duration of the whole initialization.
+   *
+   * @return The time from the start of the initialization until the container was running or had failed.
+   */
+  public @NotNull Duration getTotalDuration() {
+    return totalDuration;
+  }
+
+  /**
+   * Gets the discovery of the managed classes, either from the compile-time index or from the classpath scan.
+   *
+   * @return The discovery phase.
+   */
+  public @NotNull Span getScanPhase() {
+    return scanPhase;
+  }
+
+  /**
+   * Gets the planning of the dependency graph, including the detection of circular dependencies.
+   *
+   * @return The planning phase.
+   */
+  public @NotNull Span getPlanningPhase() {
+    return planningPhase;
+  }
+
+  /**
+   * Gets the timings of all beans created during the initialization.
+   *
+   * @return An immutable list of the timings, in the order the beans were created.
+   */
+  public @NotNull List<BeanTiming> getBeanTimings() {
+    return beanTimings;
+  }
+
+  /**
+   * Gets the timing of a single bean.
+   *
+   * @param beanClass The concrete class of the bean.
+   * @return The timing, or null if the bean was not created during the initialization.
+   */
+  public @Nullable BeanTiming getBeanTiming(@NotNull Class<?> beanClass) {
+    for (var beanTiming : beanTimings) {
+      if (beanTiming.beanClass() == beanClass) {
+        return beanTiming;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Gets the beans that took the most time to create.
+   *
+   * @param limit The maximum number of beans to return.
+   * @return An immutable list of the slowest beans, ordered by {@link BeanTiming#total()} descending.
+   */
+  public @NotNull List<BeanTiming> getSlowestBeans(int limit) {
+    return beanTimings.stream()
+      .sorted(Comparator.comparing(BeanTiming::total).reversed())
+      .limit(limit)
+      .toList();
+  }
+
+  /**
+   * Exports the report in the Chrome trace event format. Every phase of every bean becomes a complete event on the
+   * thread that executed it; the dependency wait of a bean is part of the arguments of its construction event.
+   *
+   * @return The report as trace event JSON.
+   */
+  public @NotNull String toChromeTrace() {
+    var threadIds = new LinkedHashMap<String, Integer>();
+    var events = new StringBuilder();
+    threadIds.put(threadName, 1);
+
+    appendEvent(events, "initialize " + modId, "container", new Span(Duration.ZERO, totalDuration), 1, null);
+    appendEvent(events, "scan", "container", scanPhase, 1, null);
+    appendEvent(events, "plan", "container", planningPhase, 1, null);
+    for (var beanTiming : beanTimings) {
+      var threadId = threadIds.computeIfAbsent(beanTiming.threadName(), name -> threadIds.size() + 1);
+      var beanName = beanTiming.beanClass().getName();
+      var waitArgument = "\"dependencyWaitUs\":" + beanTiming.dependencyWait().toNanos() / 1000;
+      appendEvent(events, "construct " + beanName, "bean", beanTiming.construction(), threadId, waitArgument);
+      appendEvent(events, "inject " + beanName, "bean", beanTiming.fieldInjection(), threadId, null);
+      appendEvent(events, "postConstruct " + beanName, "bean", beanTiming.postConstruct(), threadId, null);
+    }
+    threadIds.forEach((name, threadId) -> {
+      events.append(events.isEmpty() ? "" : ",\n");
+      events.append("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":").append(threadId)
+        .append(",\"args\":{\"name\":\"").append(escape(name)).append("\"}}");
+    });
+    return "{\"displayTimeUnit\":\"ms\",\"traceEvents\":[\n" + events + "\n]}\n";
+  }
+
+  /**
+   * Writes the report in the Chrome trace event format to a file. See {@link #toChromeTrace()}.
+   *
+   * @param file The file to write, replacing it if it exists.
+   * @throws IOException If the file cannot be written.
+   */
+  public void writeChromeTrace(@NotNull Path file) throws IOException {
+    Files.writeString(file, toChromeTrace(), StandardCharsets.UTF_8);
+  }
+
+  private static void appendEvent(@NotNull StringBuilder events, @NotNull String name, @NotNull String category, @NotNull Span span, int threadId, @Nullable String arguments) {
+    events.append(events.isEmpty() ? "" : ",\n");
+    events.append("{\"name\":\"").append(escape(name))
+      .append("\",\"cat\":\"").append(category)
+      .append("\",\"ph\":\"X\",\"ts\":").append(span.start().toNanos() / 1000)
+      .append(",\"dur\":").append(span.duration().toNanos() / 1000)
+      .append(",\"pid\":1,\"tid\":").append(threadId);
+    if (arguments != null) {
+      events.append(",\"args\":{").append(arguments).append('}');
+    }
+    events.append('}');
+  }
+
+  private static @NotNull String escape(@NotNull String value) {
+    var result = new StringBuilder(value.length());
+    for (var character : value.toCharArray()) {
+      switch (character) {
+        case '"' -> result.append("\\\"");
+        case '\\' -> result.append("\\\\");
+        default -> {
+          if (character < 0x20) {
+            result.append(String.format("\\u%04x", (int) character));
+          } else {
+            result.append(character);
+          }
+        }
+      }
+    }
+    return result.toString();
+  }
+
+  /**
+   * A period of time during the initialization.
+   *
+   * @param start The start, relative to the start of the initialization.
+   * @param duration The length of the period.
+   */
+  public record Span(@NotNull Duration start, @NotNull Duration duration) {
+  }
+
+  /**
+   * The timing of a single bean.
+   *
+   * @param beanClass The concrete class of the bean.
+   * @param threadName The name of the thread that created the bean.
+   * @param dependencyWait The time a parallel initialization waited from its start until all dependencies of the bean
+   *                       had been created, which shows the critical path. Always zero for a sequential initialization
+   *                       and for beans created on demand, because their dependencies are created right before them.
+   * @param construction The constructor call, including the resolution of its arguments.
+   * @param fieldInjection The injection of all {@code @ModInject} fields.
+   * @param postConstruct The invocation of the {@code @PostConstruct} method.
+   * @param nestedCreation The time spent creating other beans on demand during these phases. The spans are inclusive,
+   *                       so they nest like the calls in the Chrome trace, while the nested beans have timings of their own.
+   */
+  public record BeanTiming(
+    @NotNull Class<?> beanClass,
+    @NotNull String threadName,
+    @NotNull Duration dependencyWait,
+    @NotNull Span construction,
+    @NotNull Span fieldInjection,
+    @NotNull Span postConstruct,
+    @NotNull Duration nestedCreation
+  ) {
+    /**
+     * Gets the time spent creating the bean itself, excluding the dependency wait and the beans created on demand,
+     * so that the totals of all beans do not count any time twice.
+     *
+     * @return The sum of the construction, field injection and {@code @PostConstruct} durations, minus the nested creations.
+     */
+    public @NotNull Duration total() {
+      return construction.duration().plus(fieldInjection.duration()).plus(postConstruct.duration()).minus(nestedCreation);
+    }
+  }
+}
@@ -0,0 +1,118 @@
+package com.dotnomi.fabricdependencyinjection;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A thread-safe multimap from every supertype of a class to the values registered for that class.
+ * The type hierarchy of each class (superclasses and all transitively implemented interfaces) is walked
+ * only once per JVM and cached, so resolving the values assignable to a class or interface is a single hash lookup.
+ * {@link Object} is not indexed, because it would match every value.
+ *
+ * @param <T> The type of the indexed values.
+ */
+final class TypeIndex<T> {
+  /**
+   * Caches the supertypes of each class, including the class itself.
+   */
+  private static final ClassValue<List<Class<?>>> supertypes = new ClassValue<>() {
+    @Override
+    protected List<Class<?>> computeValue(@NotNull Class<?> type) {
+      var result = new LinkedHashSet<Class<?>>();
+      collectSupertypes(type, result);
+      result.remove(Object.class);
+      return List.copyOf(result);
+    }
+  };
+
+  private final Map<Class<?>, Bucket<T>> buckets = new ConcurrentHashMap<>();
+
+  /**
+   * Adds a value for the given class under the class itself and all of its supertypes.
+   *
+   * @param type The class the value belongs to.
+   * @param value The value to add.
+   */
+  void add(@NotNull Class<?> type, @NotNull T value) {
+    for (var supertype : supertypesOf(type)) {
+      buckets.computeIfAbsent(supertype, key -> new Bucket<>()).add(value);
+    }
+  }
+
+  /**
+   * Gets all values whose class is assignable to the given type, in insertion order.
+   *
+   * @param type The class or interface to look up.
+   * @return An unmodifiable snapshot of the matching values.
+   */
+  @NotNull List<T> get(@NotNull Class<?> type) {
+    var bucket = buckets.get(type);
+    return bucket != null ? bucket.snapshot() : List.of();
+  }
+
+  /**
+   * Gets the class itself, its superclasses and all of its transitively implemented interfaces, excluding {@link Object}.
+   *
+   * @param type The class to get the supertypes of.
+   * @return An immutable list of all supertypes, starting with the class itself.
+   */
+  static @NotNull List<Class<?>> supertypesOf(@NotNull Class<?> type) {
+    return supertypes.get(type);
+  }
+
+  private static void collectSupertypes(Class<?> type, Set<Class<?>> result) {
+    if (type == null || !result.add(type)) {
+      return;
+    }
+    collectSupertypes(type.getSuperclass(), result);
+    for (var interfaceType : type.getInterfaces()) {
+      collectSupertypes(interfaceType, result);
+    }
+  }
+
+  /**
+   * An append-only list that grows its backing array geometrically. Writers are serialized;
+   * readers never block and see a consistent prefix, because the size is published after the element.
+   */
+  private static final class Bucket<T> {
+    private volatile Object[] elements = new Object[2];
+    private volatile int size;
+
+    synchronized void add(@NotNull T value) {
+      var current = elements;
+      if (size == current.length) {
+        current = Arrays.copyOf(current, current.length * 2);
+        elements = current;
+      }
+      current[size] = value;
+      size = size + 1;
+    }
+
+    @NotNull List<T> snapshot() {
+      var snapshotSize = size;
+      var snapshotElements = elements;
+      return new AbstractList<>() {
+        @Override
+        @SuppressWarnings("unchecked")
+        public T get(int index) {
+          if (index < 0 || index >= snapshotSize) {
+            throw new IndexOutOfBoundsException(index);
+          }
+          return (T) snapshotElements[index];
+        }
+
+        @Override
+        public int size() {
+          return snapshotSize;
+        }
+      };
+    }
+  }
+}
@@ -0,0 +1,24 @@
+package com.dotnomi.fabricdependencyinjection.annotation;
+
+import com.dotnomi.fabricdependencyinjection.BeanList;
+import com.dotnomi.fabricdependencyinjection.ModInjector;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Excludes a {@link ModScoped} class from eager instantiation during initialization.
+ * <p>
+ * A lazy bean is created on its first lookup through the {@link ModInjector} or when it is first injected.
+ * If it is injected into another bean through an interface, the other bean receives a deferred handle that
+ * creates the lazy bean on its first method call. Injection points of a class type, as well as
+ * {@link BeanList} injection points, create the lazy bean together with the bean they belong to.
+ *
+ * @see ModScoped
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE})
+public @interface Lazy {
+}
@@ -11,8 +11,9 @@ import java.lang.annotation.Target;
  * Marks a class as a component to be managed by the {@link ModInjector}.
  * <p>
  * Classes annotated with {@code @ModScoped} are discovered during the classpath
- * scan at initialization. The injector creates and manages a single instance (singleton scope)
- * of each such class, which can then be injected into other components.
+ * scan at initialization. By default, the injector creates and manages a single instance (singleton scope)
+ * of each such class, which can then be injected into other components. A different {@link Scope} can be
+ * selected with {@link #scope()}.
  *
  * @see ModInjector
  * @see ModInject
@@ -20,4 +21,10 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.RUNTIME)
 @Target({ElementType.TYPE})
 public @interface ModScoped {
+  /**
+   * The scope of the class.
+   *
+   * @return The scope, {@link Scope#SINGLETON} by default.
+   */
+  Scope scope() default Scope.SINGLETON;
 }
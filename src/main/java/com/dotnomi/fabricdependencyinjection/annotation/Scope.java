@@ -0,0 +1,27 @@
+package com.dotnomi.fabricdependencyinjection.annotation;
+
+/**
+ * The scope of a {@link ModScoped} class, which determines how many instances the container creates.
+ *
+ * @see ModScoped#scope()
+ */
+public enum Scope {
+  /**
+   * A single instance per container, created during initialization unless the class is {@link Lazy}.
+   */
+  SINGLETON,
+
+  /**
+   * A new instance for every lookup and every injection point. Prototype beans are wired by the container like
+   * singletons, but never registered or created eagerly.
+   */
+  PROTOTYPE,
+
+  /**
+   * One instance per thread, including pooled and virtual threads, created on the first lookup of each thread.
+   * Useful for beans that hold state which is not thread-safe, such as scratch buffers. The instances of a thread
+   * are released once the thread has died and been garbage collected, or when the container is closed; instances
+   * implementing {@link AutoCloseable} are closed at that point.
+   */
+  THREAD
+}
@@ -0,0 +1,16 @@
+package com.dotnomi.fabricdependencyinjection.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a method of a managed bean as a handler for events posted to the mod's event bus.
+ * The annotated method must not be static and must have exactly one parameter, the type of event it handles.
+ * It receives every posted event that is an instance of this type, including subtypes.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD})
+public @interface Subscribe {
+}
@@ -1,9 +1,14 @@
 package com.dotnomi.fabricdependencyinjection.exception;
 
+import java.util.Collection;
 import java.util.List;
 
 public final class CircularDependencyException extends ModInjectorException {
   public CircularDependencyException(List<Class<?>> dependencyPath) {
     super(CircularDependencyFormatter.format(dependencyPath));
   }
+
+  public CircularDependencyException(Collection<List<Class<?>>> dependencyCycles) {
+    super(CircularDependencyFormatter.formatAll(dependencyCycles));
+  }
 }
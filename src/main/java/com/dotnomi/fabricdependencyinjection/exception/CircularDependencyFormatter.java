@@ -1,6 +1,7 @@
 package com.dotnomi.fabricdependencyinjection.exception;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 public final class CircularDependencyFormatter {
@@ -61,4 +62,26 @@ public final class CircularDependencyFormatter {
     messageBuilder.append(bottomRow);
     return messageBuilder.toString();
   }
+
+  /**
+   * Formats several independent circular dependencies into one message, rendering each cycle
+   * like {@link #format(List)}.
+   *
+   * @param cycles the dependency paths of all detected cycles
+   * @return a formatted string visually describing all circular dependencies
+   */
+  public static String formatAll(Collection<List<Class<?>>> cycles) {
+    if (cycles == null || cycles.isEmpty()) {
+      return format(null);
+    }
+    if (cycles.size() == 1) {
+      return format(cycles.iterator().next());
+    }
+
+    var messageBuilder = new StringBuilder(String.format("Found %d independent circular dependencies:", cycles.size()));
+    for (var cycle : cycles) {
+      messageBuilder.append("\n\n").append(format(cycle));
+    }
+    return messageBuilder.toString();
+  }
 }
@@ -0,0 +1,7 @@
+package com.dotnomi.fabricdependencyinjection.exception;
+
+public final class InvalidSubscribeMethodException extends ModInjectorException {
+  public InvalidSubscribeMethodException(String message) {
+    super(message);
+  }
+}
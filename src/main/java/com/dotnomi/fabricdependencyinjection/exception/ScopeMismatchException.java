@@ -0,0 +1,7 @@
+package com.dotnomi.fabricdependencyinjection.exception;
+
+public final class ScopeMismatchException extends ModInjectorException {
+  public ScopeMismatchException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,345 @@
+package com.dotnomi.fabricdependencyinjection.processor;
+
+import com.dotnomi.fabricdependencyinjection.annotation.ModIdentifier;
+import com.dotnomi.fabricdependencyinjection.annotation.ModInject;
+import com.dotnomi.fabricdependencyinjection.annotation.PostConstruct;
+
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates a {@code BeanFactory} implementation for a managed class.
+ * <p>
+ * A factory is only generated if the class can be instantiated from generated code in its own package and
+ * passes the same validation as the container (at most one {@link ModInject} constructor, at most one
+ * parameterless {@link PostConstruct} method). Otherwise, no factory is written and the container keeps using
+ * reflection, which also reports the validation errors at runtime.
+ */
+final class BeanFactoryGenerator {
+  private static final String FACTORY_SUFFIX = "_BeanFactory";
+  private static final String BEAN_FACTORY = "com.dotnomi.fabricdependencyinjection.BeanFactory";
+  private static final String BEAN_RESOLVER = "com.dotnomi.fabricdependencyinjection.BeanResolver";
+  private static final String BEAN_LIST = "com.dotnomi.fabricdependencyinjection.BeanList";
+  private static final String BEAN_PROVIDER = "com.dotnomi.fabricdependencyinjection.BeanProvider";
+
+  private final Messager messager;
+  private final Filer filer;
+  private final Elements elements;
+
+  BeanFactoryGenerator(Messager messager, Filer filer, Elements elements) {
+    this.messager = messager;
+    this.filer = filer;
+    this.elements = elements;
+  }
+
+  /**
+   * Writes the factory source file for the given class, if a factory can be generated.
+   *
+   * @param typeElement The managed class.
+   * @return The binary name of the generated factory, or null if no factory has been generated.
+   */
+  String generate(TypeElement typeElement) {
+    var packageElement = elements.getPackageOf(typeElement);
+    if (!canInstantiate(typeElement, packageElement)) {
+      return null;
+    }
+
+    var constructor = findInjectableConstructor(typeElement);
+    if (constructor == null || !isAccessible(constructor, packageElement)) {
+      return null;
+    }
+
+    var constructorArguments = new ArrayList<String>();
+    for (var parameter : constructor.getParameters()) {
+      var expression = resolveExpression(parameter, packageElement);
+      if (expression == null) {
+        return null;
+      }
+      constructorArguments.add(expression);
+    }
+
+    var fieldAssignments = collectFieldAssignments(typeElement, packageElement);
+
+    var postConstructMethods = collectPostConstructMethods(typeElement);
+    if (postConstructMethods.size() > 1 || postConstructMethods.stream().anyMatch(method -> !method.getParameters().isEmpty())) {
+      return null;
+    }
+    var postConstructMethod = postConstructMethods.isEmpty() ? null : postConstructMethods.getFirst();
+    var postConstructAccessible = postConstructMethod == null || isAccessible(postConstructMethod, packageElement);
+
+    var beanName = typeElement.getQualifiedName().toString();
+    var packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+    var factorySimpleName = factorySimpleName(typeElement);
+    var factoryName = packageName.isEmpty() ? factorySimpleName : packageName + "." + factorySimpleName;
+
+    try {
+      var sourceFile = filer.createSourceFile(factoryName, typeElement);
+      try (var writer = new PrintWriter(sourceFile.openWriter())) {
+        if (!packageName.isEmpty()) {
+          writer.println("package " + packageName + ";");
+          writer.println();
+        }
+        writer.println("@javax.annotation.processing.Generated(\"" + ModScopedIndexProcessor.class.getName() + "\")");
+        writer.println("public final class " + factorySimpleName + " implements " + BEAN_FACTORY + "<" + beanName + "> {");
+
+        writer.println("  @Override");
+        writer.println("  public " + beanName + " newInstance(" + BEAN_RESOLVER + " resolver) throws Exception {");
+        writer.println("    return new " + beanName + "(" + String.join(", ", constructorArguments) + ");");
+        writer.println("  }");
+
+        if (fieldAssignments != null) {
+          writer.println();
+          writer.println("  @Override");
+          writer.println("  public boolean injectFields(" + beanName + " instance, " + BEAN_RESOLVER + " resolver) {");
+          for (var fieldAssignment : fieldAssignments) {
+            writer.println("    " + fieldAssignment);
+          }
+          writer.println("    return true;");
+          writer.println("  }");
+        }
+
+        if (postConstructAccessible) {
+          writer.println();
+          writer.println("  @Override");
+          writer.println("  public boolean invokePostConstruct(" + beanName + " instance) throws Exception {");
+          if (postConstructMethod != null) {
+            writer.println("    " + receiver(postConstructMethod, typeElement) + "." + postConstructMethod.getSimpleName() + "();");
+          }
+          writer.println("    return true;");
+          writer.println("  }");
+        }
+
+        writer.println("}");
+      }
+    } catch (IOException exception) {
+      messager.printMessage(Diagnostic.Kind.ERROR, "Failed to generate the bean factory '" + factoryName + "': " + exception.getMessage(), typeElement);
+      return null;
+    }
+
+    return factoryName;
+  }
+
+  /**
+   * Checks if the class is a concrete, non-generic class that can be instantiated from its own package.
+   */
+  private boolean canInstantiate(TypeElement typeElement, PackageElement packageElement) {
+    if (typeElement.getKind() != ElementKind.CLASS && typeElement.getKind() != ElementKind.RECORD) {
+      return false;
+    }
+    if (typeElement.getModifiers().contains(Modifier.ABSTRACT) || !typeElement.getTypeParameters().isEmpty()) {
+      return false;
+    }
+    if (typeElement.getNestingKind() != NestingKind.TOP_LEVEL && typeElement.getNestingKind() != NestingKind.MEMBER) {
+      return false;
+    }
+    if (typeElement.getNestingKind() == NestingKind.MEMBER && !typeElement.getModifiers().contains(Modifier.STATIC)) {
+      return false;
+    }
+    return isAccessible(typeElement, packageElement);
+  }
+
+  /**
+   * Selects the constructor exactly like the container does: the single public constructor annotated with
+   * {@link ModInject}, or the public no-argument constructor.
+   */
+  private ExecutableElement findInjectableConstructor(TypeElement typeElement) {
+    var publicConstructors = ElementFilter.constructorsIn(typeElement.getEnclosedElements()).stream()
+      .filter(constructor -> constructor.getModifiers().contains(Modifier.PUBLIC))
+      .toList();
+
+    var injectableConstructors = publicConstructors.stream()
+      .filter(constructor -> constructor.getAnnotation(ModInject.class) != null)
+      .toList();
+
+    if (injectableConstructors.size() > 1) {
+      return null;
+    }
+    if (!injectableConstructors.isEmpty()) {
+      return injectableConstructors.getFirst();
+    }
+
+    return publicConstructors.stream()
+      .filter(constructor -> constructor.getParameters().isEmpty())
+      .findFirst()
+      .orElse(null);
+  }
+
+  /**
+   * Collects the assignments for all fields annotated with {@link ModInject}, starting with the class itself
+   * and walking up its superclasses.
+   *
+   * @return The assignment statements, or null if any field cannot be assigned from generated code.
+   */
+  private List<String> collectFieldAssignments(TypeElement typeElement, PackageElement packageElement) {
+    var fieldAssignments = new ArrayList<String>();
+    var currentType = typeElement;
+    while (currentType != null && !currentType.getQualifiedName().contentEquals("java.lang.Object")) {
+      for (var field : ElementFilter.fieldsIn(currentType.getEnclosedElements())) {
+        if (field.getAnnotation(ModInject.class) == null) {
+          continue;
+        }
+        if (field.getModifiers().contains(Modifier.FINAL) || field.getModifiers().contains(Modifier.STATIC) || !isAccessible(field, packageElement)) {
+          return null;
+        }
+        if (currentType != typeElement && !isAccessible(currentType, packageElement)) {
+          return null;
+        }
+
+        var expression = resolveExpression(field, packageElement);
+        if (expression == null) {
+          return null;
+        }
+        fieldAssignments.add(receiver(field, typeElement) + "." + field.getSimpleName() + " = " + expression + ";");
+      }
+      currentType = superclassOf(currentType);
+    }
+    return fieldAssignments;
+  }
+
+  private List<ExecutableElement> collectPostConstructMethods(TypeElement typeElement) {
+    var postConstructMethods = new ArrayList<ExecutableElement>();
+    var currentType = typeElement;
+    while (currentType != null && !currentType.getQualifiedName().contentEquals("java.lang.Object")) {
+      for (var method : ElementFilter.methodsIn(currentType.getEnclosedElements())) {
+        if (method.getAnnotation(PostConstruct.class) != null) {
+          postConstructMethods.add(method);
+        }
+      }
+      currentType = superclassOf(currentType);
+    }
+    return postConstructMethods;
+  }
+
+  /**
+   * Builds the resolver call that provides the value for a constructor parameter or field.
+   *
+   * @return The Java expression, or null if the type cannot be resolved from generated code.
+   */
+  private String resolveExpression(VariableElement variable, PackageElement packageElement) {
+    if (variable.asType().getKind() != TypeKind.DECLARED) {
+      return null;
+    }
+
+    var declaredType = (DeclaredType) variable.asType();
+    var typeElement = (TypeElement) declaredType.asElement();
+    if (!isAccessible(typeElement, packageElement)) {
+      return null;
+    }
+
+    var identifier = variable.getAnnotation(ModIdentifier.class);
+    var identifierExpression = identifier != null ? elements.getConstantExpression(identifier.value()) : "null";
+
+    var isBeanList = typeElement.getQualifiedName().contentEquals(BEAN_LIST);
+    if (isBeanList || typeElement.getQualifiedName().contentEquals(BEAN_PROVIDER)) {
+      var elementType = typeArgumentOf(declaredType, packageElement);
+      if (elementType == null) {
+        return null;
+      }
+      return isBeanList
+        ? "resolver.getInstancesOf(" + qualifiedName(elementType) + ".class)"
+        : "resolver.getProviderOf(" + qualifiedName(elementType) + ".class, " + identifierExpression + ")";
+    }
+
+    if (!declaredType.getTypeArguments().isEmpty()) {
+      return null;
+    }
+
+    return "resolver.getInstanceOf(" + qualifiedName(declaredType) + ".class, " + identifierExpression + ")";
+  }
+
+  /**
+   * Gets the single type argument of a {@code BeanList} or {@code BeanProvider}.
+   *
+   * @return The type argument, or null if it is not an accessible, non-generic declared type.
+   */
+  private DeclaredType typeArgumentOf(DeclaredType declaredType, PackageElement packageElement) {
+    if (declaredType.getTypeArguments().size() != 1 || declaredType.getTypeArguments().getFirst().getKind() != TypeKind.DECLARED) {
+      return null;
+    }
+    var elementType = (DeclaredType) declaredType.getTypeArguments().getFirst();
+    if (!elementType.getTypeArguments().isEmpty() || !isAccessible((TypeElement) elementType.asElement(), packageElement)) {
+      return null;
+    }
+    return elementType;
+  }
+
+  /**
+   * Gets the expression used to access a member on the instance. Members of superclasses are accessed
+   * through a cast, so that fields hidden by the subclass are still assigned correctly.
+   */
+  private String receiver(Element member, TypeElement typeElement) {
+    var declaringType = (TypeElement) member.getEnclosingElement();
+    if (declaringType.equals(typeElement)) {
+      return "instance";
+    }
+    return "((" + declaringType.getQualifiedName() + ") instance)";
+  }
+
+  /**
+   * Gets the canonical name of a declared type without type arguments or type annotations.
+   */
+  private String qualifiedName(DeclaredType declaredType) {
+    return ((TypeElement) declaredType.asElement()).getQualifiedName().toString();
+  }
+
+  /**
+   * Checks if an element and all of its enclosing types are accessible from the given package.
+   */
+  private boolean isAccessible(Element element, PackageElement packageElement) {
+    var currentElement = element;
+    while (currentElement != null && currentElement.getKind() != ElementKind.PACKAGE) {
+      var modifiers = currentElement.getModifiers();
+      if (modifiers.contains(Modifier.PRIVATE)) {
+        return false;
+      }
+      if (!modifiers.contains(Modifier.PUBLIC) && !elements.getPackageOf(currentElement).equals(packageElement)) {
+        return false;
+      }
+      currentElement = currentElement.getEnclosingElement();
+    }
+    return true;
+  }
+
+  private TypeElement superclassOf(TypeElement typeElement) {
+    var superclass = typeElement.getSuperclass();
+    if (superclass.getKind() != TypeKind.DECLARED) {
+      return null;
+    }
+    return (TypeElement) ((DeclaredType) superclass).asElement();
+  }
+
+  /**
+   * Gets the simple name of the factory for a class. Nested classes are flattened with the binary name separator,
+   * e.g. {@code Outer.Inner} becomes {@code Outer$Inner_BeanFactory}, so the name cannot collide with the factory
+   * of a top-level class such as {@code Outer_Inner}.
+   *
+   * @param typeElement The managed class.
+   * @return The simple name of the generated factory.
+   */
+  static String factorySimpleName(TypeElement typeElement) {
+    var name = new StringBuilder(typeElement.getSimpleName());
+    var enclosingElement = typeElement.getEnclosingElement();
+    while (enclosingElement instanceof TypeElement enclosingType) {
+      name.insert(0, '$').insert(0, enclosingType.getSimpleName());
+      enclosingElement = enclosingType.getEnclosingElement();
+    }
+    return name.append(FACTORY_SUFFIX).toString();
+  }
+}
@@ -0,0 +1,253 @@
+package com.dotnomi.fabricdependencyinjection.processor;
+
+import com.dotnomi.fabricdependencyinjection.annotation.ModIdentifier;
+import com.dotnomi.fabricdependencyinjection.annotation.ModScoped;
+import com.google.auto.service.AutoService;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.Processor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedSourceVersion;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+/**
+ * An annotation processor that writes a compile-time index of all {@link ModScoped} classes
+ * (including classes annotated with a {@link ModScoped} meta-annotation such as {@code @ModMain},
+ * and subclasses of managed classes) into {@value #INDEX_RESOURCE}.
+ * <p>
+ * For every concrete managed class, a {@code BeanFactory} is generated that creates and initializes
+ * the class without reflection (see {@link BeanFactoryGenerator}).
+ * <p>
+ * Each line of the index contains the tab-separated binary class name, the value of the class's
+ * {@link ModIdentifier} and the binary name of its generated factory. Trailing empty columns are omitted.
+ * The container reads this file at startup instead of scanning the classpath, and only falls back to a
+ * classpath scan when no index is present.
+ * <p>
+ * Top-level types that share a package with a type of the compilation but come from the classpath,
+ * e.g. because they were compiled by the Kotlin compiler, are listed in {@value #UNPROCESSED_CLASSES_RESOURCE}.
+ * The container ignores the index of a mod whose package contains such a type, so it never has to list the
+ * classpath at runtime to find out whether the index is complete.
+ */
+@SupportedAnnotationTypes({
+  "com.dotnomi.fabricdependencyinjection.annotation.ModScoped",
+  "com.dotnomi.fabricdependencyinjection.annotation.ModMain"
+})
+@SupportedSourceVersion(SourceVersion.RELEASE_21)
+@AutoService(Processor.class)
+public final class ModScopedIndexProcessor extends AbstractProcessor {
+  /**
+   * The classpath location of the generated index. Must match the location read by the container.
+   */
+  public static final String INDEX_RESOURCE = "META-INF/fabric-dependency-injection/scoped.index";
+
+  /**
+   * The classpath location of the list of types that were not compiled with the processor. Must match the location read by the container.
+   */
+  public static final String UNPROCESSED_CLASSES_RESOURCE = "META-INF/fabric-dependency-injection/unprocessed.index";
+
+  /**
+   * All indexed classes of this compilation, keyed by binary name. The value holds the remaining columns of the line.
+   * A sorted map keeps the generated file stable between builds.
+   */
+  private final Map<String, IndexEntry> indexedClasses = new TreeMap<>();
+  /**
+   * The binary names of all top-level types of this compilation, including the generated factories.
+   */
+  private final Set<String> processedClasses = new TreeSet<>();
+  /**
+   * The packages of all top-level types of this compilation.
+   */
+  private final Set<String> processedPackages = new TreeSet<>();
+  private final List<Element> originatingElements = new ArrayList<>();
+
+  private Messager messager;
+  private Filer filer;
+  private Elements elements;
+  private Types types;
+  private BeanFactoryGenerator beanFactoryGenerator;
+
+  @Override
+  public synchronized void init(ProcessingEnvironment processingEnv) {
+    super.init(processingEnv);
+    this.messager = processingEnv.getMessager();
+    this.filer = processingEnv.getFiler();
+    this.elements = processingEnv.getElementUtils();
+    this.types = processingEnv.getTypeUtils();
+    this.beanFactoryGenerator = new BeanFactoryGenerator(messager, filer, elements);
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    if (roundEnv.processingOver()) {
+      writeIndex();
+      return false;
+    }
+
+    for (Element rootElement : roundEnv.getRootElements()) {
+      if (rootElement instanceof TypeElement typeElement) {
+        processedClasses.add(elements.getBinaryName(typeElement).toString());
+        processedPackages.add(elements.getPackageOf(typeElement).getQualifiedName().toString());
+      }
+      collectManagedTypes(rootElement);
+    }
+
+    return false;
+  }
+
+  /**
+   * Recursively visits a type and its nested types and records every type that is managed by the container.
+   */
+  private void collectManagedTypes(Element element) {
+    if (!(element instanceof TypeElement typeElement)) {
+      return;
+    }
+
+    if (typeElement.getKind() != ElementKind.ANNOTATION_TYPE && isManaged(typeElement.asType())) {
+      var className = elements.getBinaryName(typeElement).toString();
+      if (!indexedClasses.containsKey(className)) {
+        var identifier = typeElement.getAnnotation(ModIdentifier.class);
+        var factoryName = beanFactoryGenerator.generate(typeElement);
+        indexedClasses.put(className, new IndexEntry(identifier != null ? identifier.value() : null, factoryName));
+        originatingElements.add(typeElement);
+      }
+    }
+
+    for (Element enclosedElement : typeElement.getEnclosedElements()) {
+      collectManagedTypes(enclosedElement);
+    }
+  }
+
+  /**
+   * Checks if a type is annotated with {@link ModScoped}, directly or through a meta-annotation,
+   * or if any of its supertypes is. This mirrors the semantics of the runtime classpath scan.
+   */
+  private boolean isManaged(TypeMirror type) {
+    if (type.getKind() != TypeKind.DECLARED) {
+      return false;
+    }
+
+    var typeElement = (TypeElement) ((DeclaredType) type).asElement();
+    if (isScopedAnnotated(typeElement)) {
+      return true;
+    }
+
+    for (TypeMirror supertype : types.directSupertypes(type)) {
+      if (isManaged(supertype)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean isScopedAnnotated(TypeElement typeElement) {
+    if (typeElement.getAnnotation(ModScoped.class) != null) {
+      return true;
+    }
+
+    for (var annotationMirror : typeElement.getAnnotationMirrors()) {
+      var annotationElement = annotationMirror.getAnnotationType().asElement();
+      if (annotationElement.getAnnotation(ModScoped.class) != null) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void writeIndex() {
+    if (indexedClasses.isEmpty()) {
+      return;
+    }
+
+    writeResource(INDEX_RESOURCE, writer -> {
+      for (var entry : indexedClasses.entrySet()) {
+        var indexEntry = entry.getValue();
+        writer.print(entry.getKey());
+        if (indexEntry.identifier() != null || indexEntry.factoryName() != null) {
+          writer.print('\t');
+          writer.print(indexEntry.identifier() != null ? indexEntry.identifier() : "");
+        }
+        if (indexEntry.factoryName() != null) {
+          writer.print('\t');
+          writer.print(indexEntry.factoryName());
+        }
+        writer.print('\n');
+      }
+    });
+
+    var unprocessedClasses = findUnprocessedClasses();
+    if (!unprocessedClasses.isEmpty()) {
+      writeResource(UNPROCESSED_CLASSES_RESOURCE, writer -> {
+        for (var className : unprocessedClasses) {
+          writer.print(className);
+          writer.print('\n');
+        }
+      });
+    }
+  }
+
+  /**
+   * Finds the top-level types in the packages of this compilation that are not part of it. These types come from
+   * the classpath, e.g. from the output of the Kotlin compiler, and may be managed classes missing from the index.
+   */
+  private Set<String> findUnprocessedClasses() {
+    var unprocessedClasses = new TreeSet<String>();
+    for (var packageName : processedPackages) {
+      var packageElement = elements.getPackageElement(packageName);
+      if (packageElement == null) {
+        continue;
+      }
+
+      for (Element enclosedElement : packageElement.getEnclosedElements()) {
+        if (enclosedElement instanceof TypeElement typeElement) {
+          var className = elements.getBinaryName(typeElement).toString();
+          if (!processedClasses.contains(className)) {
+            unprocessedClasses.add(className);
+          }
+        }
+      }
+    }
+    return unprocessedClasses;
+  }
+
+  private void writeResource(String resourceName, Consumer<PrintWriter> content) {
+    try {
+      var resource = filer.createResource(StandardLocation.CLASS_OUTPUT, "", resourceName, originatingElements.toArray(Element[]::new));
+      try (var writer = new PrintWriter(new OutputStreamWriter(resource.openOutputStream(), StandardCharsets.UTF_8))) {
+        content.accept(writer);
+      }
+    } catch (IOException exception) {
+      messager.printMessage(
+        Diagnostic.Kind.ERROR,
+        "Failed to write the @ModScoped index '" + resourceName + "': " + exception.getMessage()
+      );
+    }
+  }
+
+  private record IndexEntry(String identifier, String factoryName) {
+  }
+}
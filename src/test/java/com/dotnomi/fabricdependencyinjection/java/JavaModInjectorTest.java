@@ -1,16 +1,21 @@
 package com.dotnomi.fabricdependencyinjection.java;
 
 import com.dotnomi.fabricdependencyinjection.BeanList;
+import com.dotnomi.fabricdependencyinjection.ContainerMetrics;
 import com.dotnomi.fabricdependencyinjection.ModInjector;
+import com.dotnomi.fabricdependencyinjection.annotation.ModScoped;
 import com.dotnomi.fabricdependencyinjection.exception.CircularDependencyException;
 import com.dotnomi.fabricdependencyinjection.exception.ContainerAlreadyInitializedException;
 import com.dotnomi.fabricdependencyinjection.exception.ContainerNotInitializedException;
 import com.dotnomi.fabricdependencyinjection.exception.InstanceCreationException;
+import com.dotnomi.fabricdependencyinjection.exception.InvalidSubscribeMethodException;
+import com.dotnomi.fabricdependencyinjection.exception.ModInjectorException;
 import com.dotnomi.fabricdependencyinjection.exception.MultipleInjectableConstructorsException;
 import com.dotnomi.fabricdependencyinjection.exception.MultiplePostConstructMethodsException;
 import com.dotnomi.fabricdependencyinjection.exception.NoInjectableConstructorException;
 import com.dotnomi.fabricdependencyinjection.exception.NoMainClassException;
 import com.dotnomi.fabricdependencyinjection.exception.PostConstructMethodHasParametersException;
+import com.dotnomi.fabricdependencyinjection.exception.ScopeMismatchException;
 import com.dotnomi.fabricdependencyinjection.exception.TooManyInstancesFoundException;
 import com.dotnomi.fabricdependencyinjection.exception.UnmanagedClassException;
 import com.dotnomi.fabricdependencyinjection.java.testclasses.ambiguous.AmbiguousService;
@@ -18,18 +23,42 @@ import com.dotnomi.fabricdependencyinjection.java.testclasses.ambiguous.Ambiguou
 import com.dotnomi.fabricdependencyinjection.java.testclasses.beanlist.BeanListTestModMain;
 import com.dotnomi.fabricdependencyinjection.java.testclasses.beanlist.Plugin;
 import com.dotnomi.fabricdependencyinjection.java.testclasses.beanlist.PluginManager;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.factory.FactoryService;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.factory.FactoryService_BeanFactory;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.factory.FactoryTestModMain;
 import com.dotnomi.fabricdependencyinjection.java.testclasses.failingconstructor.FailingConstructorTestModMain;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.fieldcycle.AlphaService;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.fieldcycle.BetaService;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.fieldcycle.FieldCycleTestModMain;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.finalfield.FinalFieldDependency;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.finalfield.FinalFieldService;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.finalfield.FinalFieldTestModMain;
 import com.dotnomi.fabricdependencyinjection.java.testclasses.identifier.DataProcessor;
 import com.dotnomi.fabricdependencyinjection.java.testclasses.identifier.DatabaseStorage;
 import com.dotnomi.fabricdependencyinjection.java.testclasses.identifier.FileStorage;
 import com.dotnomi.fabricdependencyinjection.java.testclasses.identifier.IdentifierTestModMain;
 import com.dotnomi.fabricdependencyinjection.java.testclasses.identifier.StorageService;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.indexed.IndexedPlugin;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.indexed.IndexedTestModMain;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.indexed.ListedPlugin;
 import com.dotnomi.fabricdependencyinjection.java.testclasses.inheritance.BaseService;
 import com.dotnomi.fabricdependencyinjection.java.testclasses.circular.CircularTestModMain;
 import com.dotnomi.fabricdependencyinjection.java.testclasses.inheritance.SubServiceTestModMain;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.lazy.DebugTool;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.lazy.EagerService;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.lazy.LazyDebugTool;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.lazy.LazyReport;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.lazy.LazyTestModMain;
 import com.dotnomi.fabricdependencyinjection.java.testclasses.maininjection.MainDependentService;
 import com.dotnomi.fabricdependencyinjection.java.testclasses.maininjection.MainInjectionTestModMain;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.mixedsources.JavaSourcePlugin;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.mixedsources.MixedSourcesTestModMain;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.mixedsources.SourcePlugin;
 import com.dotnomi.fabricdependencyinjection.java.testclasses.multipleconstructors.MultipleConstructorsTestModMain;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.multiplecycles.MultipleCyclesTestModMain;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.nestedfactory.NestedFactoryTestModMain;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.nestedfactory.Outer;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.nestedfactory.Outer_Inner;
 import com.dotnomi.fabricdependencyinjection.java.testclasses.noannotation.NoAnnotationTestModMain;
 import com.dotnomi.fabricdependencyinjection.java.testclasses.noconstructor.NoConstructorTestModMain;
 import com.dotnomi.fabricdependencyinjection.java.testclasses.packagevariable.PackageVariableTestModMain;
@@ -40,17 +69,89 @@ import com.dotnomi.fabricdependencyinjection.java.testclasses.postconstruct.para
 import com.dotnomi.fabricdependencyinjection.java.testclasses.postconstruct.success.PostConstructService;
 import com.dotnomi.fabricdependencyinjection.java.testclasses.postconstruct.success.PostConstructTestModMain;
 import com.dotnomi.fabricdependencyinjection.java.testclasses.unmanaged.UnmanagedClass;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.provider.ExpensiveService;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.provider.ProviderConsumer;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.provider.ProviderCycleA;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.provider.ProviderCycleB;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.provider.ProviderTestModMain;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.prototype.cycle.PrototypeCycleTestModMain;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.prototype.mixedcycle.MixedCycleTestModMain;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.prototype.success.Calculator;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.prototype.success.CalculatorSettings;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.prototype.success.CalculatorUser;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.prototype.success.PrototypeTestModMain;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.prototype.success.ScalingCalculator;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.qualified.BackupChannel;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.qualified.Channel;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.qualified.ChatChannel;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.qualified.LogChannel;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.qualified.QualifiedTestModMain;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.scancache.first.FirstScannedService;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.scancache.first.nested.NestedScannedService;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.scancache.second.SecondScannedService;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.startupreport.OnDemandService;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.startupreport.SlowLazyService;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.startupreport.StartupReportTestModMain;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.subscribe.invalid.InvalidSubscribeTestModMain;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.subscribe.success.GameEvent;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.subscribe.success.LazyListener;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.subscribe.success.ServerTickEvent;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.subscribe.success.SubscribeTestModMain;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.subscribe.success.TickEvent;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.subscribe.success.TickListener;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.subscribe.success.TickPublisher;
 import com.dotnomi.fabricdependencyinjection.java.testclasses.success.ServiceA;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.success.ServiceB;
 import com.dotnomi.fabricdependencyinjection.java.testclasses.inheritance.SubService;
 import com.dotnomi.fabricdependencyinjection.java.testclasses.success.SuccessModMain;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.threadscope.mismatch.ThreadMismatchTestModMain;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.threadscope.providercycle.ProviderCycleTestModMain;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.threadscope.success.BufferSettings;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.threadscope.success.BufferUser;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.threadscope.success.ScratchBuffer;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.threadscope.success.ThreadScopeTestModMain;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.typeindex.AbstractMachine;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.typeindex.Component;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.typeindex.Furnace;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.typeindex.Generator;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.typeindex.TickingComponent;
+import com.dotnomi.fabricdependencyinjection.java.testclasses.typeindex.TypeIndexTestModMain;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.reflections.Store;
 
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -58,6 +159,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -311,6 +413,17 @@ public class JavaModInjectorTest {
       assertTrue(plugins.isEmpty());
     }
 
+    @Test
+    @DisplayName("Returns the same immutable BeanList for every lookup of a running container")
+    void beanList_isSharedOnceRunning() {
+      ModInjector.initialize(MOD_ID, new BeanListTestModMain());
+      var plugins = ModInjector.getInstancesOf(MOD_ID, Plugin.class);
+
+      assertSame(plugins, ModInjector.getInstancesOf(MOD_ID, Plugin.class));
+      assertEquals(2, plugins.size());
+      assertThrows(UnsupportedOperationException.class, () -> plugins.asList().add(plugins.getFirst()));
+    }
+
     @Test
     @DisplayName("BeanList record methods work as expected")
     void beanList_recordMethodsWork() {
@@ -327,6 +440,27 @@ public class JavaModInjectorTest {
       assertNotNull(beanList1.spliterator());
       beanList1.forEach(Assertions::assertNotNull);
     }
+
+    @Test
+    @DisplayName("Processes every bean exactly once in parallel")
+    void beanList_parallelForEachProcessesEveryBean() {
+      var numbers = IntStream.range(0, 10_000).boxed().toList();
+      var beanList = new BeanList<>(numbers);
+      var sum = new LongAdder();
+      var threads = ConcurrentHashMap.<Thread>newKeySet();
+
+      try (var pool = new ForkJoinPool(4)) {
+        beanList.parallelForEach(number -> {
+          sum.add(number);
+          threads.add(Thread.currentThread());
+        }, pool);
+      }
+
+      assertEquals(numbers.stream().mapToLong(Integer::longValue).sum(), sum.sum());
+      assertEquals(new BeanList<>(numbers), beanList);
+      assertSame(beanList.asList(), beanList.asList());
+      assertFalse(threads.isEmpty());
+    }
   }
 
   @Nested
@@ -360,6 +494,959 @@ public class JavaModInjectorTest {
     }
   }
 
+  @Nested
+  @DisplayName("Compile-time Index")
+  class ScopedClassIndexTests {
+    @Test
+    @DisplayName("Discovers managed classes from the index generated by the annotation processor")
+    void index_replacesClasspathScan() {
+      assertNotNull(IndexedTestModMain.class.getClassLoader().getResource("META-INF/fabric-dependency-injection/scoped.index"), "The annotation processor should have generated the index.");
+      ModInjector.initialize(MOD_ID, new IndexedTestModMain());
+      var plugins = ModInjector.getInstancesOf(MOD_ID, IndexedPlugin.class);
+      assertEquals(1, plugins.size());
+      assertInstanceOf(ListedPlugin.class, plugins.getFirst());
+    }
+
+    @Test
+    @DisplayName("Falls back to the classpath scan when classes were compiled without the annotation processor")
+    void index_fallsBackForUnprocessedClasses() {
+      ModInjector.initialize(MOD_ID, new MixedSourcesTestModMain());
+      var plugins = ModInjector.getInstancesOf(MOD_ID, SourcePlugin.class);
+      assertEquals(2, plugins.size(), "The Kotlin class missing from the index should have been discovered as well.");
+      assertTrue(plugins.asList().stream().anyMatch(JavaSourcePlugin.class::isInstance));
+    }
+
+    @Test
+    @DisplayName("Resolves identifiers stored in the index")
+    void index_resolvesIdentifiers() {
+      ModInjector.initialize(MOD_ID, new IndexedTestModMain());
+      assertInstanceOf(ListedPlugin.class, ModInjector.getInstanceOf(MOD_ID, IndexedPlugin.class, "listed"));
+    }
+
+    @Test
+    @DisplayName("Creates beans with the generated factory listed in the index")
+    void index_usesGeneratedFactory() {
+      var mainInstance = new FactoryTestModMain();
+      ModInjector.initialize(MOD_ID, mainInstance);
+      var service = ModInjector.getInstanceOf(MOD_ID, FactoryService.class);
+
+      assertSame(FactoryService_BeanFactory.class, service.getCreator(), "The constructor should be called by the generated factory.");
+      assertNotNull(service.getConstructorDependency());
+      assertSame(service.getConstructorDependency(), service.getFieldDependency());
+      assertTrue(service.isInitialized(), "@PostConstruct method should have been called by the generated factory.");
+      assertSame(service, mainInstance.getFactoryService());
+    }
+
+    @Test
+    @DisplayName("Generates distinct factories for a nested class and a top-level class with the flattened name")
+    void index_separatesNestedFactoryNames() {
+      ModInjector.initialize(MOD_ID, new NestedFactoryTestModMain());
+
+      var inner = ModInjector.getInstanceOf(MOD_ID, Outer.Inner.class);
+      var flattened = ModInjector.getInstanceOf(MOD_ID, Outer_Inner.class);
+      assertEquals(Outer.class.getPackageName() + ".Outer$Inner_BeanFactory", inner.getCreator().getName());
+      assertEquals(Outer.class.getPackageName() + ".Outer_Inner_BeanFactory", flattened.getCreator().getName());
+    }
+
+    @Test
+    @DisplayName("Scans the classpath if the index is disabled")
+    void index_canBeDisabled() {
+      System.setProperty("fabricdependencyinjection.index.enabled", "false");
+      try {
+        ModInjector.initialize(MOD_ID, new FactoryTestModMain());
+      } finally {
+        System.clearProperty("fabricdependencyinjection.index.enabled");
+      }
+
+      var service = ModInjector.getInstanceOf(MOD_ID, FactoryService.class);
+      assertNotSame(FactoryService_BeanFactory.class, service.getCreator(), "The scanned class should have been created through reflection.");
+      assertTrue(service.isInitialized());
+    }
+  }
+
+  @Nested
+  @DisplayName("Classpath Scan Cache")
+  class ClasspathScanCacheTests {
+    private static final String FIRST_PACKAGE = "com.dotnomi.fabricdependencyinjection.java.testclasses.scancache.first";
+    private static final String SECOND_PACKAGE = "com.dotnomi.fabricdependencyinjection.java.testclasses.scancache.second";
+
+    @SuppressWarnings("unchecked")
+    private Set<Class<?>> scan(String basePackage) throws Exception {
+      var method = Class.forName("com.dotnomi.fabricdependencyinjection.ClasspathScanCache").getDeclaredMethod("getTypesAnnotatedWith", String.class, Class.class);
+      method.setAccessible(true);
+      return (Set<Class<?>>) method.invoke(null, basePackage, ModScoped.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Store> getScannedStores(String basePackage) throws Exception {
+      var scannedRootsField = Class.forName("com.dotnomi.fabricdependencyinjection.ClasspathScanCache").getDeclaredField("scannedRoots");
+      scannedRootsField.setAccessible(true);
+      for (var scannedRoot : ((Map<String, ?>) scannedRootsField.get(null)).values()) {
+        var storesField = scannedRoot.getClass().getDeclaredField("stores");
+        storesField.setAccessible(true);
+        var stores = (Map<String, Store>) storesField.get(scannedRoot);
+        if (stores.containsKey(basePackage + ".")) {
+          return stores;
+        }
+      }
+      throw new AssertionError("No classpath root has been scanned for " + basePackage);
+    }
+
+    private Set<String> getScannedClassNames(Store store) {
+      var classNames = new HashSet<String>();
+      store.values().forEach(entries -> entries.values().forEach(classNames::addAll));
+      return classNames;
+    }
+
+    @Test
+    @DisplayName("Only parses the classes below the base package")
+    void scanCache_filtersByPackage() throws Exception {
+      assertEquals(Set.of(FirstScannedService.class, NestedScannedService.class), scan(FIRST_PACKAGE));
+
+      var scannedClassNames = getScannedClassNames(getScannedStores(FIRST_PACKAGE).get(FIRST_PACKAGE + "."));
+      assertTrue(scannedClassNames.contains(FirstScannedService.class.getName()));
+      assertTrue(scannedClassNames.stream().allMatch(className -> className.startsWith(FIRST_PACKAGE + ".")), "Classes outside of the base package should not have been scanned.");
+    }
+
+    @Test
+    @DisplayName("Reuses the tables of a package for repeated scans and subpackages")
+    void scanCache_reusesTablesOnRepeatedScan() throws Exception {
+      scan(FIRST_PACKAGE);
+      var stores = getScannedStores(FIRST_PACKAGE);
+      var store = stores.get(FIRST_PACKAGE + ".");
+
+      assertEquals(Set.of(FirstScannedService.class, NestedScannedService.class), scan(FIRST_PACKAGE));
+      assertEquals(Set.of(NestedScannedService.class), scan(FIRST_PACKAGE + ".nested"));
+      assertSame(store, stores.get(FIRST_PACKAGE + "."), "The package should not have been scanned again.");
+      assertFalse(stores.containsKey(FIRST_PACKAGE + ".nested."), "The subpackage should have reused the tables of its enclosing package.");
+    }
+
+    @Test
+    @DisplayName("Scans different packages of a shared classpath root separately")
+    void scanCache_sharesRootBetweenPackages() throws Exception {
+      assertEquals(Set.of(FirstScannedService.class, NestedScannedService.class), scan(FIRST_PACKAGE));
+      assertEquals(Set.of(SecondScannedService.class), scan(SECOND_PACKAGE));
+
+      var stores = getScannedStores(FIRST_PACKAGE);
+      assertSame(stores, getScannedStores(SECOND_PACKAGE), "Both packages should share the tables of their classpath root.");
+      assertTrue(getScannedClassNames(stores.get(SECOND_PACKAGE + ".")).stream().allMatch(className -> className.startsWith(SECOND_PACKAGE + ".")));
+    }
+  }
+
+  @Nested
+  @DisplayName("Persistent Scan Cache")
+  class PersistentScanCacheTests {
+    private static final String CACHE_DIRECTORY_PROPERTY = "fabricdependencyinjection.scanCache.directory";
+    private static final String PACKAGE_PREFIX = "com.example.";
+
+    private Path temporaryDirectory;
+    private Path cacheDirectory;
+    private Path jar;
+
+    @BeforeEach
+    void createJar() throws Exception {
+      temporaryDirectory = Files.createTempDirectory("fabric-dependency-injection");
+      cacheDirectory = temporaryDirectory.resolve("scan-cache");
+      System.setProperty(CACHE_DIRECTORY_PROPERTY, cacheDirectory.toString());
+      jar = temporaryDirectory.resolve("mod.jar");
+      writeJar("com/example/Service.class");
+    }
+
+    @AfterEach
+    void deleteCache() throws Exception {
+      System.clearProperty(CACHE_DIRECTORY_PROPERTY);
+      try (var files = Files.walk(temporaryDirectory)) {
+        for (var file : files.sorted(Comparator.reverseOrder()).toList()) {
+          Files.delete(file);
+        }
+      }
+    }
+
+    private void writeJar(String... entryNames) throws Exception {
+      try (var output = new JarOutputStream(Files.newOutputStream(jar))) {
+        for (var entryName : entryNames) {
+          output.putNextEntry(new JarEntry(entryName));
+          output.write(entryName.getBytes(StandardCharsets.UTF_8));
+          output.closeEntry();
+        }
+      }
+    }
+
+    private Store createStore() {
+      var store = new Store();
+      store.put("TypesAnnotated", new HashMap<>(Map.of(ModScoped.class.getName(), new HashSet<>(Set.of("com.example.Service")))));
+      return store;
+    }
+
+    private Method getCacheMethod(String name, Class<?>... parameterTypes) throws Exception {
+      var method = Class.forName("com.dotnomi.fabricdependencyinjection.PersistentScanCache").getDeclaredMethod(name, parameterTypes);
+      method.setAccessible(true);
+      return method;
+    }
+
+    private void save(String packagePrefix, Store store) throws Exception {
+      getCacheMethod("save", Path.class, String.class, Store.class).invoke(null, jar, packagePrefix, store);
+    }
+
+    private Store load(String packagePrefix) throws Exception {
+      return (Store) getCacheMethod("load", Path.class, String.class).invoke(null, jar, packagePrefix);
+    }
+
+    @Test
+    @DisplayName("Loads the saved tables of an unchanged jar")
+    void persistentCache_loadsSavedTables() throws Exception {
+      var store = createStore();
+      save(PACKAGE_PREFIX, store);
+      assertEquals(store, load(PACKAGE_PREFIX));
+    }
+
+    @Test
+    @DisplayName("Misses for jars and packages that have not been saved")
+    void persistentCache_missesUnsavedTables() throws Exception {
+      assertNull(load(PACKAGE_PREFIX));
+      save(PACKAGE_PREFIX, createStore());
+      assertNull(load("com.other."), "Tables of another package should not be shared.");
+    }
+
+    @Test
+    @DisplayName("Invalidates the tables when the jar changes")
+    void persistentCache_invalidatesChangedJar() throws Exception {
+      save(PACKAGE_PREFIX, createStore());
+      Files.setLastModifiedTime(jar, FileTime.fromMillis(Files.getLastModifiedTime(jar).toMillis() + 60_000));
+      assertNull(load(PACKAGE_PREFIX), "A changed modification time should invalidate the tables.");
+
+      save(PACKAGE_PREFIX, createStore());
+      var lastModified = Files.getLastModifiedTime(jar);
+      writeJar("com/example/Service.class", "com/example/AddedService.class");
+      Files.setLastModifiedTime(jar, lastModified);
+      assertNull(load(PACKAGE_PREFIX), "A changed size should invalidate the tables.");
+    }
+
+    @Test
+    @DisplayName("Only trusts a cache directory that is private to the current user")
+    void persistentCache_requiresPrivateDirectory() throws Exception {
+      Assumptions.assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+      save(PACKAGE_PREFIX, createStore());
+      assertEquals(PosixFilePermissions.fromString("rwx------"), Files.getPosixFilePermissions(cacheDirectory));
+
+      Files.setPosixFilePermissions(cacheDirectory, PosixFilePermissions.fromString("rwxrwxrwx"));
+      assertNull(load(PACKAGE_PREFIX), "A cache directory writable by other users should be ignored.");
+    }
+  }
+
+  @Nested
+  @DisplayName("Bean Metadata")
+  class BeanMetadataTests {
+    @Test
+    @DisplayName("Injects final fields like a reflective field write")
+    void metadata_injectsFinalFields() {
+      ModInjector.initialize(MOD_ID, new FinalFieldTestModMain());
+      var service = ModInjector.getInstanceOf(MOD_ID, FinalFieldService.class);
+      assertSame(ModInjector.getInstanceOf(MOD_ID, FinalFieldDependency.class), service.getDependency());
+    }
+
+    @Test
+    @DisplayName("Shares the cached metadata of a class between containers without sharing their beans")
+    void metadata_doesNotLeakBetweenContainers() {
+      ModInjector.initialize("mod1", new FinalFieldTestModMain());
+      ModInjector.initialize("mod2", new FinalFieldTestModMain());
+      var firstService = ModInjector.getInstanceOf("mod1", FinalFieldService.class);
+      var secondService = ModInjector.getInstanceOf("mod2", FinalFieldService.class);
+
+      assertNotSame(firstService, secondService);
+      assertSame(ModInjector.getInstanceOf("mod1", FinalFieldDependency.class), firstService.getDependency());
+      assertSame(ModInjector.getInstanceOf("mod2", FinalFieldDependency.class), secondService.getDependency());
+      assertNotSame(firstService.getDependency(), secondService.getDependency());
+    }
+  }
+
+  @Nested
+  @DisplayName("Type Index")
+  class TypeIndexTests {
+    @Test
+    @DisplayName("Resolves beans through inherited and transitively implemented interfaces")
+    void typeIndex_resolvesTransitiveSupertypes() {
+      ModInjector.initialize(MOD_ID, new TypeIndexTestModMain());
+
+      var components = ModInjector.getInstancesOf(MOD_ID, Component.class);
+      assertEquals(3, components.size());
+      assertTrue(components.asList().contains(ModInjector.getInstanceOf(MOD_ID, Generator.class)));
+      assertEquals(2, ModInjector.getInstancesOf(MOD_ID, TickingComponent.class).size());
+      assertEquals(2, ModInjector.getInstancesOf(MOD_ID, AbstractMachine.class).size());
+      assertSame(ModInjector.getInstanceOf(MOD_ID, Furnace.class), ModInjector.getInstancesOf(MOD_ID, AbstractMachine.class).asList().stream().filter(Furnace.class::isInstance).findFirst().orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Throws TooManyInstancesFoundException for a supertype with several implementations")
+    void typeIndex_throwsOnAmbiguousSupertype() {
+      ModInjector.initialize(MOD_ID, new TypeIndexTestModMain());
+      assertThrows(TooManyInstancesFoundException.class, () -> ModInjector.getInstanceOf(MOD_ID, TickingComponent.class));
+      assertThrows(TooManyInstancesFoundException.class, () -> ModInjector.getInstanceOf(MOD_ID, AbstractMachine.class));
+    }
+
+    @Test
+    @DisplayName("Keeps the indexes of different containers apart")
+    void typeIndex_isPerContainer() {
+      ModInjector.initialize("mod1", new TypeIndexTestModMain());
+      ModInjector.initialize("mod2", new SuccessModMain());
+
+      assertEquals(3, ModInjector.getInstancesOf("mod1", Component.class).size());
+      assertTrue(ModInjector.getInstancesOf("mod2", Component.class).isEmpty());
+    }
+  }
+
+  @Nested
+  @DisplayName("Resolved Bean Table")
+  class ResolvedBeanTableTests {
+    @Test
+    @DisplayName("Answers repeated lookups of a running container with the same bean")
+    void resolvedTable_returnsSameBean() {
+      ModInjector.initialize(MOD_ID, new IdentifierTestModMain());
+      var storage = ModInjector.getInstanceOf(MOD_ID, StorageService.class, "database");
+
+      assertInstanceOf(DatabaseStorage.class, storage);
+      assertSame(storage, ModInjector.getInstanceOf(MOD_ID, StorageService.class, "database"));
+      assertSame(ModInjector.getInstanceOf(MOD_ID, DataProcessor.class), ModInjector.getInstanceOf(MOD_ID, DataProcessor.class));
+      assertSame(ModInjector.getInstancesOf(MOD_ID, StorageService.class), ModInjector.getInstancesOf(MOD_ID, StorageService.class));
+    }
+
+    @Test
+    @DisplayName("Does not cache failed lookups")
+    void resolvedTable_doesNotCacheFailures() {
+      ModInjector.initialize(MOD_ID, new IdentifierTestModMain());
+      assertThrows(TooManyInstancesFoundException.class, () -> ModInjector.getInstanceOf(MOD_ID, StorageService.class));
+      assertThrows(TooManyInstancesFoundException.class, () -> ModInjector.getInstanceOf(MOD_ID, StorageService.class));
+      assertThrows(InstanceCreationException.class, () -> ModInjector.getInstanceOf(MOD_ID, StorageService.class, "unknown"));
+      assertThrows(InstanceCreationException.class, () -> ModInjector.getInstanceOf(MOD_ID, StorageService.class, "unknown"));
+    }
+
+    @Test
+    @DisplayName("Releases the resolved beans when the container is closed")
+    void resolvedTable_isReleasedOnClose() throws Exception {
+      ModInjector.initialize(MOD_ID, new SuccessModMain());
+      var service = new WeakReference<>(ModInjector.getInstanceOf(MOD_ID, ServiceA.class));
+      ModInjector.getInstancesOf(MOD_ID, ServiceA.class);
+
+      ModInjector.close(MOD_ID);
+      ModInjector.initialize(MOD_ID, new SuccessModMain());
+      assertNotSame(service.get(), ModInjector.getInstanceOf(MOD_ID, ServiceA.class), "The new container should resolve its own beans.");
+
+      for (var i = 0; i < 20 && service.get() != null; i++) {
+        System.gc();
+        Thread.sleep(10);
+      }
+      assertNull(service.get(), "The resolved lookups should not keep the beans of a closed container.");
+    }
+  }
+
+  @Nested
+  @DisplayName("Bean Registry")
+  class BeanRegistryTests {
+    @Test
+    @DisplayName("Finds qualified beans by their concrete class and by their supertypes")
+    void registry_findsQualifiedBeans() {
+      ModInjector.initialize(MOD_ID, new QualifiedTestModMain());
+
+      assertInstanceOf(BackupChannel.class, ModInjector.getInstanceOf(MOD_ID, Channel.class, "backup"));
+      assertInstanceOf(ChatChannel.class, ModInjector.getInstanceOf(MOD_ID, ChatChannel.class, "primary"));
+      assertInstanceOf(LogChannel.class, ModInjector.getInstanceOf(MOD_ID, LogChannel.class, "primary"));
+      assertEquals(3, ModInjector.getInstancesOf(MOD_ID, Channel.class).size());
+    }
+
+    @Test
+    @DisplayName("Throws TooManyInstancesFoundException for a qualified lookup that matches several beans")
+    void registry_throwsOnAmbiguousQualifiedLookup() {
+      ModInjector.initialize(MOD_ID, new QualifiedTestModMain());
+      assertThrows(TooManyInstancesFoundException.class, () -> ModInjector.getInstanceOf(MOD_ID, Channel.class, "primary"));
+      assertThrows(TooManyInstancesFoundException.class, () -> ModInjector.getInstanceOf(MOD_ID, Channel.class));
+    }
+  }
+
+  @Nested
+  @DisplayName("@Lazy")
+  class LazyTests {
+    @BeforeEach
+    void resetCounters() {
+      LazyDebugTool.instancesCreated.set(0);
+      LazyReport.instancesCreated.set(0);
+    }
+
+    @Test
+    @DisplayName("Does not create lazy beans during initialization")
+    void lazy_isNotCreatedDuringInitialization() {
+      ModInjector.initialize(MOD_ID, new LazyTestModMain());
+      assertNotNull(ModInjector.getInstanceOf(MOD_ID, EagerService.class).getDebugTool());
+      assertEquals(0, LazyDebugTool.instancesCreated.get(), "The injected lazy bean should not have been created yet.");
+      assertEquals(0, LazyReport.instancesCreated.get(), "The unused lazy bean should not have been created.");
+    }
+
+    @Test
+    @DisplayName("Creates lazy bean on first lookup")
+    void lazy_isCreatedOnFirstLookup() {
+      ModInjector.initialize(MOD_ID, new LazyTestModMain());
+      var report = ModInjector.getInstanceOf(MOD_ID, LazyReport.class);
+      assertSame(report, ModInjector.getInstanceOf(MOD_ID, LazyReport.class));
+      assertEquals(1, LazyReport.instancesCreated.get());
+    }
+
+    @Test
+    @DisplayName("Deferred handle creates the lazy bean on first use")
+    void lazy_deferredHandleCreatesBeanOnFirstUse() {
+      ModInjector.initialize(MOD_ID, new LazyTestModMain());
+      var debugTool = ModInjector.getInstanceOf(MOD_ID, EagerService.class).getDebugTool();
+
+      assertEquals("debug", debugTool.getName());
+      assertEquals("debug", debugTool.getName());
+      assertEquals(1, LazyDebugTool.instancesCreated.get());
+      assertSame(ModInjector.getInstanceOf(MOD_ID, LazyDebugTool.class), ModInjector.getInstanceOf(MOD_ID, DebugTool.class));
+      assertEquals(1, LazyDebugTool.instancesCreated.get());
+    }
+
+    @Test
+    @DisplayName("Deferred handle answers Object methods without creating the lazy bean")
+    void lazy_deferredHandleObjectMethodsDoNotCreateBean() {
+      ModInjector.initialize(MOD_ID, new LazyTestModMain());
+      var debugTool = ModInjector.getInstanceOf(MOD_ID, EagerService.class).getDebugTool();
+
+      assertTrue(debugTool.toString().contains(DebugTool.class.getName()));
+      assertEquals(System.identityHashCode(debugTool), debugTool.hashCode());
+      assertTrue(new HashSet<>(List.of(debugTool)).contains(debugTool));
+      assertEquals(0, LazyDebugTool.instancesCreated.get(), "Object methods of the deferred handle should not create the bean.");
+    }
+  }
+
+  @Nested
+  @DisplayName("BeanProvider")
+  class BeanProviderTests {
+    @BeforeEach
+    void resetCounter() {
+      ExpensiveService.instancesCreated.set(0);
+    }
+
+    @Test
+    @DisplayName("Resolves the bean on first get() and caches it")
+    void provider_resolvesOnFirstGet() {
+      ModInjector.initialize(MOD_ID, new ProviderTestModMain());
+      var consumer = ModInjector.getInstanceOf(MOD_ID, ProviderConsumer.class);
+      assertEquals(0, ExpensiveService.instancesCreated.get(), "The provided bean should not be resolved before get() is called.");
+
+      var expensiveService = consumer.getConstructorProvider().get();
+      assertSame(expensiveService, consumer.getConstructorProvider().get());
+      assertSame(expensiveService, consumer.getFieldProvider().get());
+      assertSame(expensiveService, ModInjector.getInstanceOf(MOD_ID, ExpensiveService.class));
+      assertEquals(1, ExpensiveService.instancesCreated.get());
+    }
+
+    @Test
+    @DisplayName("Breaks constructor cycles")
+    void provider_breaksConstructorCycles() {
+      assertDoesNotThrow(() -> ModInjector.initialize(MOD_ID, new ProviderTestModMain()));
+      var cycleA = ModInjector.getInstanceOf(MOD_ID, ProviderCycleA.class);
+      var cycleB = ModInjector.getInstanceOf(MOD_ID, ProviderCycleB.class);
+      assertSame(cycleB, cycleA.getCycleB());
+      assertSame(cycleA, cycleB.getCycleA());
+    }
+  }
+
+  @Nested
+  @DisplayName("Asynchronous Initialization")
+  class AsyncInitializationTests {
+    @Test
+    @DisplayName("Initializes a container asynchronously")
+    void async_initializesContainer() {
+      assertDoesNotThrow(() -> ModInjector.initializeAsync(MOD_ID, new SuccessModMain()).join());
+      assertNotNull(ModInjector.getInstanceOf(MOD_ID, ServiceA.class).getServiceB());
+    }
+
+    @Test
+    @DisplayName("Reports failures per mod without affecting other mods")
+    void async_reportsFailuresPerMod() {
+      var futures = ModInjector.initializeAll(Map.of(
+        "mod1", new SuccessModMain(),
+        "mod2", new CircularTestModMain()
+      ), ForkJoinPool.commonPool());
+
+      assertDoesNotThrow(() -> futures.get("mod1").join());
+      var exception = assertThrows(CompletionException.class, () -> futures.get("mod2").join());
+      assertInstanceOf(CircularDependencyException.class, exception.getCause());
+      assertNotNull(ModInjector.getInstanceOf("mod1", ServiceA.class));
+    }
+  }
+
+  @Nested
+  @DisplayName("Startup Report")
+  class StartupReportTests {
+    @Test
+    @DisplayName("Records the timings of every created bean")
+    void report_recordsBeanTimings() {
+      ModInjector.initialize(MOD_ID, new SuccessModMain());
+      var report = ModInjector.getStartupReport(MOD_ID);
+
+      assertEquals(MOD_ID, report.getModId());
+      var serviceA = report.getBeanTiming(ServiceA.class);
+      var serviceB = report.getBeanTiming(ServiceB.class);
+      assertNotNull(serviceA);
+      assertNotNull(serviceB);
+      assertTrue(serviceB.construction().start().compareTo(serviceA.construction().start()) < 0, "Dependencies should be created first.");
+      assertTrue(serviceA.dependencyWait().compareTo(serviceB.dependencyWait()) >= 0);
+      assertTrue(report.getTotalDuration().compareTo(serviceA.total()) >= 0);
+      assertEquals(2, report.getSlowestBeans(5).size());
+    }
+
+    @Test
+    @DisplayName("Does not count beans created on demand twice")
+    void report_excludesNestedCreations() {
+      ModInjector.initialize(MOD_ID, new StartupReportTestModMain());
+      var report = ModInjector.getStartupReport(MOD_ID);
+      var onDemandService = report.getBeanTiming(OnDemandService.class);
+      var slowLazyService = report.getBeanTiming(SlowLazyService.class);
+      assertNotNull(onDemandService);
+      assertNotNull(slowLazyService);
+
+      var slowConstruction = Duration.ofMillis(SlowLazyService.CONSTRUCTION_MILLIS);
+      assertTrue(slowLazyService.total().compareTo(slowConstruction) >= 0);
+      assertTrue(onDemandService.construction().duration().compareTo(slowConstruction) >= 0, "The construction span should include the nested creation.");
+      assertEquals(slowLazyService.total(), onDemandService.nestedCreation());
+      assertTrue(onDemandService.total().compareTo(slowConstruction) < 0, "The total should exclude the nested creation.");
+      assertEquals(Duration.ZERO, onDemandService.dependencyWait(), "A sequential initialization should not report a dependency wait.");
+    }
+
+    @Test
+    @DisplayName("Exports the report as a Chrome trace")
+    void report_exportsChromeTrace() {
+      ModInjector.initialize(MOD_ID, new SuccessModMain(), ForkJoinPool.commonPool());
+      var trace = ModInjector.getStartupReport(MOD_ID).toChromeTrace();
+
+      assertTrue(trace.startsWith("{\"displayTimeUnit\":\"ms\",\"traceEvents\":["));
+      assertTrue(trace.contains("\"name\":\"construct " + ServiceA.class.getName() + "\""));
+      assertTrue(trace.contains("\"name\":\"scan\""));
+      assertTrue(trace.contains("\"name\":\"thread_name\""));
+    }
+
+    @Test
+    @DisplayName("Is not available before the container has been initialized")
+    void report_requiresInitialization() {
+      assertThrows(ContainerNotInitializedException.class, () -> ModInjector.getStartupReport(MOD_ID));
+    }
+  }
+
+  @Nested
+  @DisplayName("Flight Recorder Events")
+  class FlightRecorderTests {
+    @Test
+    @DisplayName("Emits events for the initialization and every bean")
+    void jfr_emitsContainerEvents() throws Exception {
+      var file = Files.createTempFile("fabric-dependency-injection", ".jfr");
+      try (var recording = new Recording()) {
+        recording.enable("com.dotnomi.fabricdependencyinjection.ContainerInitialization");
+        recording.enable("com.dotnomi.fabricdependencyinjection.ClasspathScan");
+        recording.enable("com.dotnomi.fabricdependencyinjection.BeanInstantiation");
+        recording.start();
+        ModInjector.initialize(MOD_ID, new SuccessModMain());
+        recording.stop();
+        recording.dump(file);
+
+        var events = RecordingFile.readAllEvents(file);
+        var instantiatedClasses = events.stream()
+          .filter(event -> event.getEventType().getName().endsWith(".BeanInstantiation"))
+          .map(event -> event.getClass("beanClass").getName())
+          .toList();
+        assertTrue(instantiatedClasses.containsAll(List.of(ServiceA.class.getName(), ServiceB.class.getName())));
+        assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().endsWith(".ClasspathScan") && MOD_ID.equals(event.getString("modId"))));
+        assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().endsWith(".ContainerInitialization") && event.getBoolean("succeeded")));
+      } finally {
+        Files.deleteIfExists(file);
+      }
+    }
+  }
+
+  @Nested
+  @DisplayName("Container Metrics")
+  class ContainerMetricsTests {
+    @Test
+    @DisplayName("Counts beans, lookups and lazy creations")
+    void metrics_countLookupsAndCreations() {
+      ModInjector.initialize(MOD_ID, new LazyTestModMain());
+      var metrics = ModInjector.getMetrics(MOD_ID);
+      var lookupsAfterInitialization = metrics.getLookupCount();
+      var beansAfterInitialization = metrics.getBeanCount();
+
+      ModInjector.getInstanceOf(MOD_ID, LazyReport.class);
+      ModInjector.getInstanceOf(MOD_ID, LazyReport.class);
+
+      assertEquals("RUNNING", metrics.getStatus());
+      assertTrue(metrics.getInitializationMillis() >= 0);
+      assertEquals(lookupsAfterInitialization + 2, metrics.getLookupCount());
+      assertTrue(metrics.getLookupCountsByType().isEmpty(), "Lookups should not be counted per type by default.");
+      assertEquals(1, metrics.getLazyCreations());
+      assertEquals(beansAfterInitialization + 1, metrics.getBeanCount());
+    }
+
+    @Test
+    @DisplayName("Counts only lookups through ModInjector and only hits of existing singletons")
+    void metrics_countLookupsAndHitsSeparately() {
+      ModInjector.initialize(MOD_ID, new SuccessModMain());
+      var metrics = ModInjector.getMetrics(MOD_ID);
+      assertEquals(0, metrics.getLookupCount(), "Resolving dependencies during the initialization should not count as lookups.");
+
+      var hitsAfterInitialization = metrics.getRegistryHits();
+      var missesAfterInitialization = metrics.getRegistryMisses();
+      ModInjector.getInstanceOf(MOD_ID, ServiceA.class);
+      ModInjector.getInstanceOf(MOD_ID, ServiceA.class);
+      assertEquals(2, metrics.getLookupCount());
+      assertEquals(hitsAfterInitialization + 2, metrics.getRegistryHits());
+      assertEquals(missesAfterInitialization, metrics.getRegistryMisses());
+    }
+
+    @Test
+    @DisplayName("Does not count prototype lookups as registry hits")
+    void metrics_doNotCountPrototypesAsHits() {
+      ModInjector.initialize(MOD_ID, new PrototypeTestModMain());
+      var metrics = ModInjector.getMetrics(MOD_ID);
+      var hitsAfterInitialization = metrics.getRegistryHits();
+
+      ModInjector.getInstanceOf(MOD_ID, Calculator.class);
+      ModInjector.getInstanceOf(MOD_ID, Calculator.class);
+      assertEquals(2, metrics.getLookupCount());
+      assertEquals(hitsAfterInitialization + 2, metrics.getRegistryHits(), "Only the singleton settings injected into each new calculator should be registry hits.");
+    }
+
+    @Test
+    @DisplayName("Counts lookups per type if enabled")
+    void metrics_countLookupsByTypeIfEnabled() {
+      System.setProperty(ContainerMetrics.LOOKUPS_BY_TYPE_PROPERTY, "true");
+      try {
+        ModInjector.initialize(MOD_ID, new LazyTestModMain());
+      } finally {
+        System.clearProperty(ContainerMetrics.LOOKUPS_BY_TYPE_PROPERTY);
+      }
+
+      ModInjector.getInstanceOf(MOD_ID, LazyReport.class);
+      ModInjector.getInstanceOf(MOD_ID, LazyReport.class);
+      assertTrue(ModInjector.getMetrics(MOD_ID).getLookupCountsByType().get(LazyReport.class.getName()) >= 2);
+    }
+
+    @Test
+    @DisplayName("Does not register the metrics of a failed container")
+    void metrics_areNotRegisteredOnFailure() throws Exception {
+      var server = ManagementFactory.getPlatformMBeanServer();
+      var objectName = new ObjectName("com.dotnomi.fabricdependencyinjection:type=ModContainer,name=" + ObjectName.quote(MOD_ID));
+      if (server.isRegistered(objectName)) {
+        server.unregisterMBean(objectName);
+      }
+
+      assertThrows(InstanceCreationException.class, () -> ModInjector.initialize(MOD_ID, new FailingConstructorTestModMain()));
+      assertFalse(server.isRegistered(objectName));
+    }
+
+    @Test
+    @DisplayName("Registers the metrics as a platform MBean")
+    void metrics_areRegisteredAsMBean() throws Exception {
+      ModInjector.initialize(MOD_ID, new SuccessModMain());
+      var objectName = new ObjectName("com.dotnomi.fabricdependencyinjection:type=ModContainer,name=" + ObjectName.quote(MOD_ID));
+
+      var beanCount = ManagementFactory.getPlatformMBeanServer().getAttribute(objectName, "BeanCount");
+      assertEquals(ModInjector.getMetrics(MOD_ID).getBeanCount(), beanCount);
+    }
+  }
+
+  @Nested
+  @DisplayName("Prototype Scope")
+  class PrototypeScopeTests {
+    @Test
+    @DisplayName("Creates a new, fully wired instance for every lookup and injection point")
+    void prototype_createsNewInstancePerLookup() {
+      ModInjector.initialize(MOD_ID, new PrototypeTestModMain());
+      var first = ModInjector.getInstanceOf(MOD_ID, ScalingCalculator.class);
+      var second = ModInjector.getInstanceOf(MOD_ID, Calculator.class);
+      var calculatorUser = ModInjector.getInstanceOf(MOD_ID, CalculatorUser.class);
+
+      assertNotSame(first, second);
+      assertNotSame(calculatorUser.getFieldCalculator(), calculatorUser.getConstructorCalculator());
+      assertSame(ModInjector.getInstanceOf(MOD_ID, CalculatorSettings.class), first.getSettings());
+      assertTrue(second.isInitialized());
+      assertEquals(6, second.calculate(3));
+    }
+
+    @Test
+    @DisplayName("Reuses released instances from a bounded pool")
+    void prototype_poolReusesReleasedInstances() {
+      ModInjector.initialize(MOD_ID, new PrototypeTestModMain());
+      var pool = ModInjector.createPool(MOD_ID, Calculator.class, 1);
+
+      var first = pool.acquire();
+      var second = pool.acquire();
+      assertNotSame(first, second);
+      assertTrue(pool.release(first));
+      assertFalse(pool.release(second));
+      assertSame(first, pool.acquire());
+      assertEquals(0, pool.getIdleCount());
+      assertEquals(1, pool.getCapacity());
+      assertThrows(UnmanagedClassException.class, () -> ModInjector.createPool(MOD_ID, CalculatorSettings.class, 1));
+    }
+
+    @Test
+    @DisplayName("Throws CircularDependencyException if prototypes depend on each other")
+    void prototype_throwsOnCycle() {
+      assertThrows(CircularDependencyException.class, () ->
+        ModInjector.initialize(MOD_ID, new PrototypeCycleTestModMain())
+      );
+    }
+
+    @Test
+    @DisplayName("Throws CircularDependencyException if a singleton and a prototype depend on each other")
+    void prototype_throwsOnMixedCycle() {
+      assertThrows(CircularDependencyException.class, () ->
+        ModInjector.initialize(MOD_ID, new MixedCycleTestModMain())
+      );
+    }
+  }
+
+  @Nested
+  @DisplayName("Thread Scope")
+  class ThreadScopeTests {
+    @Test
+    @DisplayName("Creates one instance per thread, including virtual threads")
+    void threadScope_createsOneInstancePerThread() throws Exception {
+      ModInjector.initialize(MOD_ID, new ThreadScopeTestModMain());
+      var bufferUser = ModInjector.getInstanceOf(MOD_ID, BufferUser.class);
+      var buffer = ModInjector.getInstanceOf(MOD_ID, ScratchBuffer.class);
+
+      assertSame(buffer, ModInjector.getInstanceOf(MOD_ID, ScratchBuffer.class));
+      assertSame(buffer, bufferUser.getBuffer());
+      assertSame(ModInjector.getInstanceOf(MOD_ID, BufferSettings.class), buffer.getSettings());
+
+      try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+        var otherBuffer = executor.submit(() -> {
+          var first = ModInjector.getInstanceOf(MOD_ID, ScratchBuffer.class);
+          assertSame(first, bufferUser.getBuffer());
+          return first;
+        }).get();
+        assertNotSame(buffer, otherBuffer);
+        assertNotNull(otherBuffer.getSettings());
+      }
+    }
+
+    @Test
+    @DisplayName("Closes the instances of all threads and unregisters the metrics when the container is closed")
+    void threadScope_closesInstancesWithContainer() throws Exception {
+      ModInjector.initialize(MOD_ID, new ThreadScopeTestModMain());
+      var buffer = ModInjector.getInstanceOf(MOD_ID, ScratchBuffer.class);
+      var bufferUser = ModInjector.getInstanceOf(MOD_ID, BufferUser.class);
+      var objectName = new ObjectName("com.dotnomi.fabricdependencyinjection:type=ModContainer,name=" + ObjectName.quote(MOD_ID));
+      assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(objectName));
+
+      ModInjector.close(MOD_ID);
+
+      assertTrue(buffer.isClosed());
+      assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(objectName));
+      assertThrows(ContainerNotInitializedException.class, () -> ModInjector.getInstanceOf(MOD_ID, ScratchBuffer.class));
+      assertThrows(ContainerNotInitializedException.class, bufferUser::getBuffer);
+      assertDoesNotThrow(() -> ModInjector.initialize(MOD_ID, new ThreadScopeTestModMain()));
+    }
+
+    @Test
+    @DisplayName("Releases the instances of threads that outlive the closed container")
+    void threadScope_releasesInstancesOfLiveThreads() throws Exception {
+      ModInjector.initialize(MOD_ID, new ThreadScopeTestModMain());
+      var executor = Executors.newSingleThreadExecutor();
+      try {
+        var pooledBuffer = executor.submit(() -> new WeakReference<>(ModInjector.getInstanceOf(MOD_ID, ScratchBuffer.class))).get();
+        assertFalse(pooledBuffer.get().isClosed());
+
+        ModInjector.close(MOD_ID);
+
+        assertTrue(pooledBuffer.get().isClosed());
+        for (var i = 0; i < 20 && pooledBuffer.get() != null; i++) {
+          System.gc();
+          Thread.sleep(10);
+        }
+        assertNull(pooledBuffer.get(), "The pooled thread should not keep the instance of the closed container.");
+      } finally {
+        executor.shutdownNow();
+      }
+    }
+
+    @Test
+    @DisplayName("Reports a CircularDependencyException if a constructor resolves a provider of a bean that depends on it")
+    void threadScope_throwsOnProviderCycleInConstructor() {
+      Throwable cause = assertThrows(ModInjectorException.class, () ->
+        ModInjector.initialize(MOD_ID, new ProviderCycleTestModMain())
+      );
+      while (cause != null && !(cause instanceof CircularDependencyException)) {
+        cause = cause.getCause();
+      }
+      assertNotNull(cause, "The constructor should fail with the detected cycle instead of overflowing the stack.");
+    }
+
+    @Test
+    @DisplayName("Throws ScopeMismatchException if a singleton injects a thread-scoped bean directly")
+    void threadScope_throwsOnSingletonDependency() {
+      assertThrows(ScopeMismatchException.class, () ->
+        ModInjector.initialize(MOD_ID, new ThreadMismatchTestModMain())
+      );
+    }
+  }
+
+  @Nested
+  @DisplayName("Bean Handles")
+  class BeanHandleTests {
+    @Test
+    @DisplayName("Resolves singletons once, including qualified beans")
+    void handle_resolvesSingletonOnce() {
+      ModInjector.initialize(MOD_ID, new IdentifierTestModMain());
+      var handle = ModInjector.handle(MOD_ID, StorageService.class, "file");
+
+      assertSame(handle.get(), handle.get());
+      assertSame(ModInjector.getInstanceOf(MOD_ID, StorageService.class, "file"), handle.get());
+      assertInstanceOf(FileStorage.class, handle.get());
+      assertThrows(TooManyInstancesFoundException.class, () -> ModInjector.handle(MOD_ID, StorageService.class));
+    }
+
+    @Test
+    @DisplayName("Keeps the scope of prototype and thread-scoped beans")
+    void handle_keepsScopeOfNonSingletons() throws Exception {
+      ModInjector.initialize(MOD_ID, new PrototypeTestModMain());
+      var calculatorHandle = ModInjector.handle(MOD_ID, Calculator.class);
+      assertNotSame(calculatorHandle.get(), calculatorHandle.get());
+      assertTrue(calculatorHandle.get().isInitialized());
+
+      ModInjector.close(MOD_ID);
+      ModInjector.initialize(MOD_ID, new ThreadScopeTestModMain());
+      var bufferHandle = ModInjector.handle(MOD_ID, ScratchBuffer.class);
+      assertSame(ModInjector.getInstanceOf(MOD_ID, ScratchBuffer.class), bufferHandle.get());
+      try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+        assertNotSame(bufferHandle.get(), executor.submit(bufferHandle::get).get());
+      }
+    }
+
+    @Test
+    @DisplayName("Fails once the container has been closed")
+    void handle_failsAfterClose() {
+      ModInjector.initialize(MOD_ID, new SuccessModMain());
+      var handle = ModInjector.handle(MOD_ID, ServiceA.class);
+      assertNotNull(handle.get());
+
+      ModInjector.close(MOD_ID);
+      assertThrows(ContainerNotInitializedException.class, handle::get);
+    }
+  }
+
+  @Nested
+  @DisplayName("Event Bus")
+  class EventBusTests {
+    @Test
+    @DisplayName("Dispatches events to the subscribers of their class and supertypes")
+    void eventBus_dispatchesToSupertypeSubscribers() {
+      var mainInstance = new SubscribeTestModMain();
+      ModInjector.initialize(MOD_ID, mainInstance);
+      var eventBus = ModInjector.getEventBus(MOD_ID);
+
+      eventBus.post(new TickEvent());
+      ModInjector.getInstanceOf(MOD_ID, TickPublisher.class).tick();
+      eventBus.post(new GameEvent() {});
+      eventBus.post("unrelated");
+
+      var tickListener = ModInjector.getInstanceOf(MOD_ID, TickListener.class);
+      assertEquals(2, tickListener.getTicks());
+      assertEquals(3, tickListener.getGameEvents());
+      assertEquals(2, mainInstance.getTicks());
+      assertEquals(1, ModInjector.getInstanceOf(MOD_ID, LazyListener.class).getServerTicks());
+      assertTrue(eventBus.hasSubscribers(ServerTickEvent.class));
+      assertFalse(eventBus.hasSubscribers(String.class));
+    }
+
+    @Test
+    @DisplayName("Rejects events once the container has been closed")
+    void eventBus_rejectsEventsAfterClose() {
+      var mainInstance = new SubscribeTestModMain();
+      ModInjector.initialize(MOD_ID, mainInstance);
+      var eventBus = ModInjector.getEventBus(MOD_ID);
+      eventBus.post(new TickEvent());
+
+      ModInjector.close(MOD_ID);
+
+      assertThrows(ContainerNotInitializedException.class, () -> eventBus.post(new TickEvent()));
+      assertFalse(eventBus.hasSubscribers(TickEvent.class));
+      assertEquals(1, mainInstance.getTicks());
+    }
+
+    @Test
+    @DisplayName("Throws InvalidSubscribeMethodException if a subscriber does not take exactly one event")
+    void eventBus_throwsIfSubscriberIsInvalid() {
+      assertThrows(InvalidSubscribeMethodException.class, () ->
+        ModInjector.initialize(MOD_ID, new InvalidSubscribeTestModMain())
+      );
+    }
+  }
+
+  @Nested
+  @DisplayName("Dependency Graph")
+  class DependencyGraphTests {
+    @Test
+    @DisplayName("Resolves cycles that pass through a field regardless of discovery order")
+    void graph_resolvesCyclesThroughFields() {
+      assertDoesNotThrow(() -> ModInjector.initialize(MOD_ID, new FieldCycleTestModMain()));
+      var alphaService = ModInjector.getInstanceOf(MOD_ID, AlphaService.class);
+      var betaService = ModInjector.getInstanceOf(MOD_ID, BetaService.class);
+
+      assertSame(betaService, alphaService.getBetaService());
+      assertSame(alphaService, betaService.getAlphaService());
+      assertTrue(betaService.isAlphaServiceInjected(), "Fields of all beans in a cycle should be injected before any @PostConstruct method is called.");
+    }
+
+    @Test
+    @DisplayName("Reports all constructor cycles at once")
+    void graph_reportsAllConstructorCycles() {
+      var exception = assertThrows(CircularDependencyException.class, () ->
+        ModInjector.initialize(MOD_ID, new MultipleCyclesTestModMain())
+      );
+      assertTrue(exception.getMessage().contains("FirstCycleA -> FirstCycleB -> FirstCycleA"), exception.getMessage());
+      assertTrue(exception.getMessage().contains("SecondCycleA -> SecondCycleB -> SecondCycleA"), exception.getMessage());
+    }
+  }
+
+  @Nested
+  @DisplayName("Parallel Initialization")
+  class ParallelInitializationTests {
+    @Test
+    @DisplayName("Initializes and injects all beans on a ForkJoinPool")
+    void parallel_initializesOnForkJoinPool() {
+      assertDoesNotThrow(() -> ModInjector.initialize(MOD_ID, new SuccessModMain(), ForkJoinPool.commonPool()));
+      var serviceA = ModInjector.getInstanceOf(MOD_ID, ServiceA.class);
+      assertNotNull(serviceA.getServiceB());
+      assertSame(serviceA.getServiceB(), ModInjector.getInstanceOf(MOD_ID, ServiceB.class));
+    }
+
+    @Test
+    @DisplayName("Injects BeanLists when initialized on virtual threads")
+    void parallel_injectsBeanListsOnVirtualThreads() {
+      try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+        ModInjector.initialize(MOD_ID, new BeanListTestModMain(), executor);
+      }
+      var pluginManager = ModInjector.getInstanceOf(MOD_ID, PluginManager.class);
+      var plugins = ModInjector.getInstancesOf(MOD_ID, Plugin.class);
+      assertEquals(plugins.size(), pluginManager.getConstructorInjectedPlugins().size());
+      assertEquals(plugins.size(), pluginManager.getFieldInjectedPlugins().size());
+    }
+
+    @Test
+    @DisplayName("Throws CircularDependencyException")
+    void parallel_throwsOnCircularDependency() {
+      assertThrows(CircularDependencyException.class, () ->
+        ModInjector.initialize(MOD_ID, new CircularTestModMain(), ForkJoinPool.commonPool())
+      );
+    }
+
+    @Test
+    @DisplayName("Throws InstanceCreationException when constructor fails")
+    void parallel_throwsOnFailingConstructor() {
+      assertThrows(InstanceCreationException.class, () ->
+        ModInjector.initialize(MOD_ID, new FailingConstructorTestModMain(), ForkJoinPool.commonPool())
+      );
+    }
+  }
+
   @Nested
   @DisplayName("Inheritance")
   class InheritanceTests {
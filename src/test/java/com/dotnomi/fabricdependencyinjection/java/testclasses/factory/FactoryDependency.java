@@ -0,0 +1,7 @@
+package com.dotnomi.fabricdependencyinjection.java.testclasses.factory;
+
+import com.dotnomi.fabricdependencyinjection.annotation.ModScoped;
+
+@ModScoped
+public class FactoryDependency {
+}
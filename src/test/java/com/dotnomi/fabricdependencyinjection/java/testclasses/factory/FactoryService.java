@@ -0,0 +1,31 @@
+package com.dotnomi.fabricdependencyinjection.java.testclasses.factory;
+
+import com.dotnomi.fabricdependencyinjection.annotation.ModInject;
+import com.dotnomi.fabricdependencyinjection.annotation.ModScoped;
+import com.dotnomi.fabricdependencyinjection.annotation.PostConstruct;
+
+@ModScoped
+public class FactoryService {
+  private final FactoryDependency constructorDependency;
+  private final Class<?> creator;
+  private boolean initialized;
+
+  @ModInject
+  FactoryDependency fieldDependency;
+
+  @ModInject
+  public FactoryService(FactoryDependency constructorDependency) {
+    this.constructorDependency = constructorDependency;
+    this.creator = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE).getCallerClass();
+  }
+
+  @PostConstruct
+  void initialize() {
+    this.initialized = true;
+  }
+
+  public FactoryDependency getConstructorDependency() { return constructorDependency; }
+  public FactoryDependency getFieldDependency() { return fieldDependency; }
+  public Class<?> getCreator() { return creator; }
+  public boolean isInitialized() { return initialized; }
+}
@@ -0,0 +1,12 @@
+package com.dotnomi.fabricdependencyinjection.java.testclasses.factory;
+
+import com.dotnomi.fabricdependencyinjection.annotation.ModInject;
+import com.dotnomi.fabricdependencyinjection.annotation.ModMain;
+
+@ModMain
+public class FactoryTestModMain {
+  @ModInject
+  FactoryService factoryService;
+
+  public FactoryService getFactoryService() { return factoryService; }
+}
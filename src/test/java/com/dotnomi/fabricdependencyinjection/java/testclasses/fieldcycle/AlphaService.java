@@ -0,0 +1,18 @@
+package com.dotnomi.fabricdependencyinjection.java.testclasses.fieldcycle;
+
+import com.dotnomi.fabricdependencyinjection.annotation.ModInject;
+import com.dotnomi.fabricdependencyinjection.annotation.ModScoped;
+
+@ModScoped
+public class AlphaService {
+  private final BetaService betaService;
+
+  @ModInject
+  public AlphaService(BetaService betaService) {
+    this.betaService = betaService;
+  }
+
+  public BetaService getBetaService() {
+    return betaService;
+  }
+}
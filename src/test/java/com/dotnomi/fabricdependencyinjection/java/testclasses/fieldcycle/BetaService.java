@@ -0,0 +1,26 @@
+package com.dotnomi.fabricdependencyinjection.java.testclasses.fieldcycle;
+
+import com.dotnomi.fabricdependencyinjection.annotation.ModInject;
+import com.dotnomi.fabricdependencyinjection.annotation.ModScoped;
+import com.dotnomi.fabricdependencyinjection.annotation.PostConstruct;
+
+@ModScoped
+public class BetaService {
+  @ModInject
+  private AlphaService alphaService;
+
+  private boolean alphaServiceInjected;
+
+  @PostConstruct
+  private void initialize() {
+    alphaServiceInjected = alphaService != null;
+  }
+
+  public AlphaService getAlphaService() {
+    return alphaService;
+  }
+
+  public boolean isAlphaServiceInjected() {
+    return alphaServiceInjected;
+  }
+}
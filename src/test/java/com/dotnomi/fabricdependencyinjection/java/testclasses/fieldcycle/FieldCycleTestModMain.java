@@ -0,0 +1,7 @@
+package com.dotnomi.fabricdependencyinjection.java.testclasses.fieldcycle;
+
+import com.dotnomi.fabricdependencyinjection.annotation.ModMain;
+
+@ModMain
+public class FieldCycleTestModMain {
+}
@@ -0,0 +1,7 @@
+package com.dotnomi.fabricdependencyinjection.java.testclasses.finalfield;
+
+import com.dotnomi.fabricdependencyinjection.annotation.ModScoped;
+
+@ModScoped
+public class FinalFieldDependency {
+}
@@ -0,0 +1,18 @@
+package com.dotnomi.fabricdependencyinjection.java.testclasses.finalfield;
+
+import com.dotnomi.fabricdependencyinjection.annotation.ModInject;
+import com.dotnomi.fabricdependencyinjection.annotation.ModScoped;
+
+@ModScoped
+public class FinalFieldService {
+  @ModInject
+  private final FinalFieldDependency dependency;
+
+  public FinalFieldService() {
+    this.dependency = null;
+  }
+
+  public FinalFieldDependency getDependency() {
+    return dependency;
+  }
+}
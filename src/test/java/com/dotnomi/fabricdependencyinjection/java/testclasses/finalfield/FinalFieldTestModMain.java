@@ -0,0 +1,7 @@
+package com.dotnomi.fabricdependencyinjection.java.testclasses.finalfield;
+
+import com.dotnomi.fabricdependencyinjection.annotation.ModMain;
+
+@ModMain
+public class FinalFieldTestModMain {
+}
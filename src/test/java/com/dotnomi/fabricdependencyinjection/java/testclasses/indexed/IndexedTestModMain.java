@@ -0,0 +1,7 @@
+package com.dotnomi.fabricdependencyinjection.java.testclasses.indexed;
+
+import com.dotnomi.fabricdependencyinjection.annotation.ModMain;
+
+@ModMain
+public class IndexedTestModMain {
+}
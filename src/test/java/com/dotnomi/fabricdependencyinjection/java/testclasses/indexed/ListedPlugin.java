@@ -0,0 +1,9 @@
+package com.dotnomi.fabricdependencyinjection.java.testclasses.indexed;
+
+import com.dotnomi.fabricdependencyinjection.annotation.ModIdentifier;
+import com.dotnomi.fabricdependencyinjection.annotation.ModScoped;
+
+@ModScoped
+@ModIdentifier("listed")
+public class ListedPlugin implements IndexedPlugin {
+}
@@ -0,0 +1,5 @@
+package com.dotnomi.fabricdependencyinjection.java.testclasses.lazy;
+
+public interface DebugTool {
+  String getName();
+}
@@ -0,0 +1,14 @@
+package com.dotnomi.fabricdependencyinjection.java.testclasses.lazy;
+
+import com.dotnomi.fabricdependencyinjection.annotation.ModInject;
+import com.dotnomi.fabricdependencyinjection.annotation.ModScoped;
+
+@ModScoped
+public class EagerService {
+  @ModInject
+  private DebugTool debugTool;
+
+  public DebugTool getDebugTool() {
+    return debugTool;
+  }
+}
@@ -0,0 +1,21 @@
+package com.dotnomi.fabricdependencyinjection.java.testclasses.lazy;
+
+import com.dotnomi.fabricdependencyinjection.annotation.Lazy;
+import com.dotnomi.fabricdependencyinjection.annotation.ModScoped;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Lazy
+@ModScoped
+public class LazyDebugTool implements DebugTool {
+  public static final AtomicInteger instancesCreated = new AtomicInteger();
+
+  public LazyDebugTool() {
+    instancesCreated.incrementAndGet();
+  }
+
+  @Override
+  public String getName() {
+    return "debug";
+  }
+}
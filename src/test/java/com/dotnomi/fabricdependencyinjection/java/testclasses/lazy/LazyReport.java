@@ -0,0 +1,16 @@
+package com.dotnomi.fabricdependencyinjection.java.testclasses.lazy;
+
+import com.dotnomi.fabricdependencyinjection.annotation.Lazy;
+import com.dotnomi.fabricdependencyinjection.annotation.ModScoped;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Lazy
+@ModScoped
+public class LazyReport {
+  public static final AtomicInteger instancesCreated = new AtomicInteger();
+
+  public LazyReport() {
+    instancesCreated.incrementAndGet();
+  }
+}
@@ -0,0 +1,7 @@
+package com.dotnomi.fabricdependencyinjection.java.testclasses.lazy;
+
+import com.dotnomi.fabricdependencyinjection.annotation.ModMain;
+
+@ModMain
+public class LazyTestModMain {
+}
@@ -0,0 +1,6 @@
+package com.dotnomi.fabricdependencyinjection.java.testclasses.mixedsources
+
+import com.dotnomi.fabricdependencyinjection.annotation.ModScoped
+
+@ModScoped
+class KotlinSourcePlugin : SourcePlugin
@@ -0,0 +1,10 @@
+package com.dotnomi.fabricdependencyinjection.java.testclasses.multiplecycles;
+
+import com.dotnomi.fabricdependencyinjection.annotation.ModInject;
+import com.dotnomi.fabricdependencyinjection.annotation.ModScoped;
+
+@ModScoped
+public class SecondCycleB {
+  @ModInject
+  public SecondCycleB(SecondCycleA dependency) {}
+}
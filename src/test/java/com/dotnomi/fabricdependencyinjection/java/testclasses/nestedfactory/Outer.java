@@ -0,0 +1,16 @@
+package com.dotnomi.fabricdependencyinjection.java.testclasses.nestedfactory;
+
+import com.dotnomi.fabricdependencyinjection.annotation.ModScoped;
+
+public class Outer {
+  @ModScoped
+  public static class Inner {
+    private final Class<?> creator;
+
+    public Inner() {
+      this.creator = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE).getCallerClass();
+    }
+
+    public Class<?> getCreator() { return creator; }
+  }
+}
@@ -0,0 +1,14 @@
+package com.dotnomi.fabricdependencyinjection.java.testclasses.nestedfactory;
+
+import com.dotnomi.fabricdependencyinjection.annotation.ModScoped;
+
+@ModScoped
+public class Outer_Inner {
+  private final Class<?> creator;
+
+  public Outer_Inner() {
+    this.creator = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE).getCallerClass();
+  }
+
+  public Class<?> getCreator() { return creator; }
+}
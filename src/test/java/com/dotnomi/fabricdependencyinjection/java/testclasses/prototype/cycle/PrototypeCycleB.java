@@ -0,0 +1,11 @@
+package com.dotnomi.fabricdependencyinjection.java.testclasses.prototype.cycle;
+
+import com.dotnomi.fabricdependencyinjection.annotation.ModInject;
+import com.dotnomi.fabricdependencyinjection.annotation.ModScoped;
+import com.dotnomi.fabricdependencyinjection.annotation.Scope;
+
+@ModScoped(scope = Scope.PROTOTYPE)
+public class PrototypeCycleB {
+  @ModInject
+  private PrototypeCycleA prototypeCycleA;
+}
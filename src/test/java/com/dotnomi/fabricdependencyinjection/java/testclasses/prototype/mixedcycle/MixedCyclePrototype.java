@@ -0,0 +1,11 @@
+package com.dotnomi.fabricdependencyinjection.java.testclasses.prototype.mixedcycle;
+
+import com.dotnomi.fabricdependencyinjection.annotation.ModInject;
+import com.dotnomi.fabricdependencyinjection.annotation.ModScoped;
+import com.dotnomi.fabricdependencyinjection.annotation.Scope;
+
+@ModScoped(scope = Scope.PROTOTYPE)
+public class MixedCyclePrototype {
+  @ModInject
+  public MixedCyclePrototype(MixedCycleSingleton mixedCycleSingleton) {}
+}
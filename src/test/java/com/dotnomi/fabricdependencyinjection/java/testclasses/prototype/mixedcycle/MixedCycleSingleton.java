@@ -0,0 +1,10 @@
+package com.dotnomi.fabricdependencyinjection.java.testclasses.prototype.mixedcycle;
+
+import com.dotnomi.fabricdependencyinjection.annotation.ModInject;
+import com.dotnomi.fabricdependencyinjection.annotation.ModScoped;
+
+@ModScoped
+public class MixedCycleSingleton {
+  @ModInject
+  public MixedCycleSingleton(MixedCyclePrototype mixedCyclePrototype) {}
+}
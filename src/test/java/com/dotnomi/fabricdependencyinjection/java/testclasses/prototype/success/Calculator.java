@@ -0,0 +1,9 @@
+package com.dotnomi.fabricdependencyinjection.java.testclasses.prototype.success;
+
+public interface Calculator {
+  int calculate(int value);
+
+  CalculatorSettings getSettings();
+
+  boolean isInitialized();
+}
@@ -0,0 +1,25 @@
+package com.dotnomi.fabricdependencyinjection.java.testclasses.prototype.success;
+
+import com.dotnomi.fabricdependencyinjection.annotation.ModInject;
+import com.dotnomi.fabricdependencyinjection.annotation.ModScoped;
+
+@ModScoped
+public class CalculatorUser {
+  @ModInject
+  private ScalingCalculator fieldCalculator;
+
+  private final Calculator constructorCalculator;
+
+  @ModInject
+  public CalculatorUser(Calculator constructorCalculator) {
+    this.constructorCalculator = constructorCalculator;
+  }
+
+  public ScalingCalculator getFieldCalculator() {
+    return this.fieldCalculator;
+  }
+
+  public Calculator getConstructorCalculator() {
+    return this.constructorCalculator;
+  }
+}
@@ -0,0 +1,37 @@
+package com.dotnomi.fabricdependencyinjection.java.testclasses.prototype.success;
+
+import com.dotnomi.fabricdependencyinjection.annotation.ModInject;
+import com.dotnomi.fabricdependencyinjection.annotation.ModScoped;
+import com.dotnomi.fabricdependencyinjection.annotation.PostConstruct;
+import com.dotnomi.fabricdependencyinjection.annotation.Scope;
+
+@ModScoped(scope = Scope.PROTOTYPE)
+public class ScalingCalculator implements Calculator {
+  private final CalculatorSettings settings;
+  private boolean initialized;
+
+  @ModInject
+  public ScalingCalculator(CalculatorSettings settings) {
+    this.settings = settings;
+  }
+
+  @PostConstruct
+  private void initialize() {
+    this.initialized = true;
+  }
+
+  @Override
+  public int calculate(int value) {
+    return value * settings.getScale();
+  }
+
+  @Override
+  public CalculatorSettings getSettings() {
+    return this.settings;
+  }
+
+  @Override
+  public boolean isInitialized() {
+    return this.initialized;
+  }
+}
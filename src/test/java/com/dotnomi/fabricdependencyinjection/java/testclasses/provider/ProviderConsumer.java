@@ -0,0 +1,26 @@
+package com.dotnomi.fabricdependencyinjection.java.testclasses.provider;
+
+import com.dotnomi.fabricdependencyinjection.BeanProvider;
+import com.dotnomi.fabricdependencyinjection.annotation.ModInject;
+import com.dotnomi.fabricdependencyinjection.annotation.ModScoped;
+
+@ModScoped
+public class ProviderConsumer {
+  private final BeanProvider<ExpensiveService> constructorProvider;
+
+  @ModInject
+  private BeanProvider<ExpensiveService> fieldProvider;
+
+  @ModInject
+  public ProviderConsumer(BeanProvider<ExpensiveService> constructorProvider) {
+    this.constructorProvider = constructorProvider;
+  }
+
+  public BeanProvider<ExpensiveService> getConstructorProvider() {
+    return constructorProvider;
+  }
+
+  public BeanProvider<ExpensiveService> getFieldProvider() {
+    return fieldProvider;
+  }
+}
@@ -0,0 +1,19 @@
+package com.dotnomi.fabricdependencyinjection.java.testclasses.provider;
+
+import com.dotnomi.fabricdependencyinjection.BeanProvider;
+import com.dotnomi.fabricdependencyinjection.annotation.ModInject;
+import com.dotnomi.fabricdependencyinjection.annotation.ModScoped;
+
+@ModScoped
+public class ProviderCycleA {
+  private final BeanProvider<ProviderCycleB> cycleB;
+
+  @ModInject
+  public ProviderCycleA(BeanProvider<ProviderCycleB> cycleB) {
+    this.cycleB = cycleB;
+  }
+
+  public ProviderCycleB getCycleB() {
+    return cycleB.get();
+  }
+}
@@ -0,0 +1,18 @@
+package com.dotnomi.fabricdependencyinjection.java.testclasses.provider;
+
+import com.dotnomi.fabricdependencyinjection.annotation.ModInject;
+import com.dotnomi.fabricdependencyinjection.annotation.ModScoped;
+
+@ModScoped
+public class ProviderCycleB {
+  private final ProviderCycleA cycleA;
+
+  @ModInject
+  public ProviderCycleB(ProviderCycleA cycleA) {
+    this.cycleA = cycleA;
+  }
+
+  public ProviderCycleA getCycleA() {
+    return cycleA;
+  }
+}
@@ -0,0 +1,4 @@
+package com.dotnomi.fabricdependencyinjection.java.testclasses.qualified;
+
+public interface Channel {
+}
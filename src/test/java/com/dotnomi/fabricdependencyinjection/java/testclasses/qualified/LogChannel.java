@@ -0,0 +1,9 @@
+package com.dotnomi.fabricdependencyinjection.java.testclasses.qualified;
+
+import com.dotnomi.fabricdependencyinjection.annotation.ModIdentifier;
+import com.dotnomi.fabricdependencyinjection.annotation.ModScoped;
+
+@ModScoped
+@ModIdentifier("primary")
+public class LogChannel implements Channel {
+}
@@ -0,0 +1,19 @@
+package com.dotnomi.fabricdependencyinjection.java.testclasses.startupreport;
+
+import com.dotnomi.fabricdependencyinjection.BeanProvider;
+import com.dotnomi.fabricdependencyinjection.annotation.ModInject;
+import com.dotnomi.fabricdependencyinjection.annotation.ModScoped;
+
+@ModScoped
+public class OnDemandService {
+  private final SlowLazyService slowLazyService;
+
+  @ModInject
+  public OnDemandService(BeanProvider<SlowLazyService> slowLazyService) {
+    this.slowLazyService = slowLazyService.get();
+  }
+
+  public SlowLazyService getSlowLazyService() {
+    return slowLazyService;
+  }
+}
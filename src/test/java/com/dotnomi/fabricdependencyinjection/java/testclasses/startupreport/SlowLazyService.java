@@ -0,0 +1,18 @@
+package com.dotnomi.fabricdependencyinjection.java.testclasses.startupreport;
+
+import com.dotnomi.fabricdependencyinjection.annotation.Lazy;
+import com.dotnomi.fabricdependencyinjection.annotation.ModScoped;
+
+@Lazy
+@ModScoped
+public class SlowLazyService {
+  public static final long CONSTRUCTION_MILLIS = 50;
+
+  public SlowLazyService() {
+    try {
+      Thread.sleep(CONSTRUCTION_MILLIS);
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
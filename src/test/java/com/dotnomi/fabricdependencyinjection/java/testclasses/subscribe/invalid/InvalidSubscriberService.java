@@ -0,0 +1,11 @@
+package com.dotnomi.fabricdependencyinjection.java.testclasses.subscribe.invalid;
+
+import com.dotnomi.fabricdependencyinjection.annotation.ModScoped;
+import com.dotnomi.fabricdependencyinjection.annotation.Subscribe;
+
+@ModScoped
+public class InvalidSubscriberService {
+  @Subscribe
+  public void onEvent(Object first, Object second) {
+  }
+}
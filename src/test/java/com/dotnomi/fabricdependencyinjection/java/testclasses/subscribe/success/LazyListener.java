@@ -0,0 +1,20 @@
+package com.dotnomi.fabricdependencyinjection.java.testclasses.subscribe.success;
+
+import com.dotnomi.fabricdependencyinjection.annotation.Lazy;
+import com.dotnomi.fabricdependencyinjection.annotation.ModScoped;
+import com.dotnomi.fabricdependencyinjection.annotation.Subscribe;
+
+@Lazy
+@ModScoped
+public class LazyListener {
+  private int serverTicks;
+
+  @Subscribe
+  public void onServerTick(ServerTickEvent event) {
+    this.serverTicks++;
+  }
+
+  public int getServerTicks() {
+    return this.serverTicks;
+  }
+}
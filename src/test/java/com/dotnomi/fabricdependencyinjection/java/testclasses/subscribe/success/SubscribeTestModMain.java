@@ -0,0 +1,18 @@
+package com.dotnomi.fabricdependencyinjection.java.testclasses.subscribe.success;
+
+import com.dotnomi.fabricdependencyinjection.annotation.ModMain;
+import com.dotnomi.fabricdependencyinjection.annotation.Subscribe;
+
+@ModMain
+public class SubscribeTestModMain {
+  private int ticks;
+
+  @Subscribe
+  public void onTick(TickEvent event) {
+    this.ticks++;
+  }
+
+  public int getTicks() {
+    return this.ticks;
+  }
+}
@@ -0,0 +1,28 @@
+package com.dotnomi.fabricdependencyinjection.java.testclasses.subscribe.success;
+
+import com.dotnomi.fabricdependencyinjection.annotation.ModScoped;
+import com.dotnomi.fabricdependencyinjection.annotation.Subscribe;
+
+@ModScoped
+public class TickListener {
+  private int ticks;
+  private int gameEvents;
+
+  @Subscribe
+  private void onTick(TickEvent event) {
+    this.ticks++;
+  }
+
+  @Subscribe
+  public void onGameEvent(GameEvent event) {
+    this.gameEvents++;
+  }
+
+  public int getTicks() {
+    return this.ticks;
+  }
+
+  public int getGameEvents() {
+    return this.gameEvents;
+  }
+}
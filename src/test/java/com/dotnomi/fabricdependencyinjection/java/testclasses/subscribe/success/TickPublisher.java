@@ -0,0 +1,19 @@
+package com.dotnomi.fabricdependencyinjection.java.testclasses.subscribe.success;
+
+import com.dotnomi.fabricdependencyinjection.EventBus;
+import com.dotnomi.fabricdependencyinjection.annotation.ModInject;
+import com.dotnomi.fabricdependencyinjection.annotation.ModScoped;
+
+@ModScoped
+public class TickPublisher {
+  private final EventBus eventBus;
+
+  @ModInject
+  public TickPublisher(EventBus eventBus) {
+    this.eventBus = eventBus;
+  }
+
+  public void tick() {
+    eventBus.post(new ServerTickEvent());
+  }
+}
@@ -0,0 +1,8 @@
+package com.dotnomi.fabricdependencyinjection.java.testclasses.threadscope.mismatch;
+
+import com.dotnomi.fabricdependencyinjection.annotation.ModScoped;
+import com.dotnomi.fabricdependencyinjection.annotation.Scope;
+
+@ModScoped(scope = Scope.THREAD)
+public class ThreadState {
+}
@@ -0,0 +1,19 @@
+package com.dotnomi.fabricdependencyinjection.java.testclasses.threadscope.providercycle;
+
+import com.dotnomi.fabricdependencyinjection.BeanProvider;
+import com.dotnomi.fabricdependencyinjection.annotation.ModInject;
+import com.dotnomi.fabricdependencyinjection.annotation.ModScoped;
+
+@ModScoped
+public class EagerProviderService {
+  private final ProviderThreadState threadState;
+
+  @ModInject
+  public EagerProviderService(BeanProvider<ProviderThreadState> threadState) {
+    this.threadState = threadState.get();
+  }
+
+  public ProviderThreadState getThreadState() {
+    return threadState;
+  }
+}
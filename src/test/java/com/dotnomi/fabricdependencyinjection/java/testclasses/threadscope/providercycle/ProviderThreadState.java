@@ -0,0 +1,11 @@
+package com.dotnomi.fabricdependencyinjection.java.testclasses.threadscope.providercycle;
+
+import com.dotnomi.fabricdependencyinjection.annotation.ModInject;
+import com.dotnomi.fabricdependencyinjection.annotation.ModScoped;
+import com.dotnomi.fabricdependencyinjection.annotation.Scope;
+
+@ModScoped(scope = Scope.THREAD)
+public class ProviderThreadState {
+  @ModInject
+  public ProviderThreadState(EagerProviderService eagerProviderService) {}
+}
@@ -0,0 +1,19 @@
+package com.dotnomi.fabricdependencyinjection.java.testclasses.threadscope.success;
+
+import com.dotnomi.fabricdependencyinjection.BeanProvider;
+import com.dotnomi.fabricdependencyinjection.annotation.ModInject;
+import com.dotnomi.fabricdependencyinjection.annotation.ModScoped;
+
+@ModScoped
+public class BufferUser {
+  private final BeanProvider<ScratchBuffer> bufferProvider;
+
+  @ModInject
+  public BufferUser(BeanProvider<ScratchBuffer> bufferProvider) {
+    this.bufferProvider = bufferProvider;
+  }
+
+  public ScratchBuffer getBuffer() {
+    return this.bufferProvider.get();
+  }
+}
@@ -0,0 +1,31 @@
+package com.dotnomi.fabricdependencyinjection.java.testclasses.threadscope.success;
+
+import com.dotnomi.fabricdependencyinjection.annotation.ModInject;
+import com.dotnomi.fabricdependencyinjection.annotation.ModScoped;
+import com.dotnomi.fabricdependencyinjection.annotation.Scope;
+
+@ModScoped(scope = Scope.THREAD)
+public class ScratchBuffer implements AutoCloseable {
+  @ModInject
+  private BufferSettings settings;
+
+  private final StringBuilder content = new StringBuilder();
+  private volatile boolean closed;
+
+  public BufferSettings getSettings() {
+    return this.settings;
+  }
+
+  public StringBuilder getContent() {
+    return this.content;
+  }
+
+  public boolean isClosed() {
+    return this.closed;
+  }
+
+  @Override
+  public void close() {
+    this.closed = true;
+  }
+}
@@ -0,0 +1,4 @@
+package com.dotnomi.fabricdependencyinjection.java.testclasses.typeindex;
+
+public interface TickingComponent extends Component {
+}